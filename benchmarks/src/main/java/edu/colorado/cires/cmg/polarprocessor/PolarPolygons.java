@@ -0,0 +1,71 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Generates polygons surrounding a pole for benchmarking
+ */
+final class PolarPolygons {
+
+  private static final int HOLE_VERTICES = 16;
+  private static final int MIN_HOLES = 8;
+  private static final int MAX_HOLES = 1024;
+  private static final int MIN_WAVY_VERTICES = 64;
+
+  private PolarPolygons() {
+
+  }
+
+  /**
+   * Generates a {@link Polygon} whose exterior ring surrounds a pole between 65 and 75 degrees latitude, or along 70 degrees latitude for small
+   * vertex counts. Longitudes are offset by half a step so no vertex lies on the prime meridian or anti-meridian.
+   * @param vertices number of exterior ring coordinates, including the closing coordinate
+   * @param arctic true to surround the north pole, false to surround the south pole
+   * @param holes true to add between 8 and 1024 holes, depending on the number of vertices, between 80 and 88 degrees latitude. Each hole
+   * lies within one column of longitudes, so none crosses the anti-meridian.
+   * @param geometryFactory {@link GeometryFactory} for creating the polygon
+   * @return generated {@link Polygon}
+   */
+  static Polygon generate(int vertices, boolean arctic, boolean holes, GeometryFactory geometryFactory) {
+    if (vertices < 5) {
+      throw new IllegalArgumentException("A polar polygon requires at least 5 vertices: " + vertices);
+    }
+    int distinct = vertices - 1;
+    double sign = arctic ? 1D : -1D;
+    Coordinate[] shell = new Coordinate[vertices];
+    for (int i = 0; i < distinct; i++) {
+      double lon = -180D + 360D * (i + 0.5D) / distinct;
+      double lat = distinct < MIN_WAVY_VERTICES ? 70D : 70D + 5D * Math.sin(7D * 2D * Math.PI * i / distinct);
+      shell[i] = new Coordinate(lon, sign * lat);
+    }
+    shell[distinct] = shell[0].copy();
+    return geometryFactory.createPolygon(geometryFactory.createLinearRing(shell), holes ? holes(vertices, sign, geometryFactory) : null);
+  }
+
+  private static LinearRing[] holes(int vertices, double sign, GeometryFactory geometryFactory) {
+    int count = Math.max(MIN_HOLES, Math.min(vertices / 1000, MAX_HOLES));
+    int rows = Math.max(1, (int) Math.sqrt(count / (double) MIN_HOLES));
+    int columns = (count + rows - 1) / rows;
+    double columnWidth = 360D / columns;
+    double rowHeight = 8D / rows;
+    LinearRing[] holes = new LinearRing[count];
+    for (int h = 0; h < count; h++) {
+      double centerLon = -180D + columnWidth * (h % columns + 0.5D);
+      double centerLat = 80D + rowHeight * (h / columns + 0.5D);
+      double lonRadius = columnWidth * 0.4D;
+      double latRadius = rowHeight * 0.4D;
+      Coordinate[] ring = new Coordinate[HOLE_VERTICES + 1];
+      for (int i = 0; i < HOLE_VERTICES; i++) {
+        double angle = -2D * Math.PI * i / HOLE_VERTICES;
+        ring[i] = new Coordinate(centerLon + lonRadius * Math.cos(angle), sign * (centerLat + latRadius * Math.sin(angle)));
+      }
+      ring[HOLE_VERTICES] = ring[0].copy();
+      holes[h] = geometryFactory.createLinearRing(ring);
+    }
+    return holes;
+  }
+
+}
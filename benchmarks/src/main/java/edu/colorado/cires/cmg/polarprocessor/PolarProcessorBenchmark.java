@@ -0,0 +1,101 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks each stage of {@link PolarProcessor#splitPolar(Polygon, GeometryFactory)}. Each stage receives the output of the previous stage,
+ * computed once during setup, so stages are measured in isolation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PolarProcessorBenchmark {
+
+  @Param({"5", "100", "10000", "1000000"})
+  public int vertices;
+
+  @Param({"true", "false"})
+  public boolean arctic;
+
+  @Param({"false", "true"})
+  public boolean holes;
+
+  private GeometryFactory geometryFactory;
+  private Polygon polygon;
+  private Polygon translated;
+  private Geometry split;
+  private Geometry withPolarCoordinate;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    polygon = PolarPolygons.generate(vertices, arctic, holes, geometryFactory);
+    translated = PolarProcessor.preSplitTranslatePolygon(polygon, geometryFactory, arctic);
+    split = PolarProcessor.split180(translated);
+    withPolarCoordinate = PolarProcessor.addPolarCoordinate(split, geometryFactory);
+    if (!PolarProcessor.isPolar(polygon, geometryFactory).isPresent()) {
+      throw new IllegalStateException("Generated polygon is not polar: " + vertices);
+    }
+    // spatial4j cannot split polar polygons with holes, so every generated polygon must be split natively
+    if (!AntiMeridianSplitter.split(translated).isPresent()) {
+      throw new IllegalStateException("Generated polygon is not split natively: " + vertices + " holes=" + holes);
+    }
+  }
+
+  @Benchmark
+  public Polygon preSplitTranslatePolygon() {
+    return PolarProcessor.preSplitTranslatePolygon(polygon, geometryFactory, arctic);
+  }
+
+  @Benchmark
+  public Optional<Polygon> isPolar() {
+    return PolarProcessor.isPolar(polygon, geometryFactory);
+  }
+
+  @Benchmark
+  public Geometry split180() {
+    return PolarProcessor.split180(translated);
+  }
+
+  @Benchmark
+  public Geometry addPolarCoordinate() {
+    return PolarProcessor.addPolarCoordinate(split, geometryFactory);
+  }
+
+  @Benchmark
+  public Geometry postSplitTranslateGeometry() {
+    return PolarProcessor.postSplitTranslateGeometry(withPolarCoordinate, geometryFactory, arctic);
+  }
+
+  @Benchmark
+  public Optional<Geometry> splitPolar() {
+    return PolarProcessor.splitPolar(polygon, geometryFactory);
+  }
+
+  @Benchmark
+  public Optional<Geometry> splitPolarStages() {
+    return PolarProcessor.isPolar(polygon, geometryFactory).map(preSplit -> PolarProcessor.postSplitTranslateGeometry(
+        PolarProcessor.addPolarCoordinate(PolarProcessor.split180(preSplit), geometryFactory), geometryFactory, arctic));
+  }
+
+}
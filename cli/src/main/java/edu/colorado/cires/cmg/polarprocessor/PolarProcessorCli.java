@@ -0,0 +1,325 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Splits every feature of a file with {@link PolarFeaturePipeline} on a number of worker threads and reports throughput. Input is read
+ * through memory-mapped windows and output is written through buffered file channels.
+ */
+public final class PolarProcessorCli {
+
+  private static final long HEAP_SAMPLE_MILLIS = 10L;
+
+  private static final String USAGE = String.join(System.lineSeparator(),
+      "Usage: java -jar polar-processor-cli.jar [options] <input> <output>",
+      "",
+      "Options:",
+      "  --threads <n>          worker threads, defaults to the number of processors",
+      "  --max-in-flight <n>    features held in memory at once, defaults to 1024",
+      "  --input-format <f>     wkb, wkt, geojson or geojsonl, defaults to the input file extension",
+      "  --output-format <f>    wkb, wkt, geojson or geojsonl, defaults to the output file extension",
+      "",
+      "WKB records are prefixed with their length as a four byte big-endian integer. WKT and geojsonl have one geometry or feature per line.");
+
+  /**
+   * Format of an input or output file
+   */
+  enum Format {
+    WKB,
+    WKT,
+    GEOJSON,
+    GEOJSONL;
+
+    static Format parse(String value) {
+      try {
+        return valueOf(value.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown format: " + value);
+      }
+    }
+
+    static Format of(Path path) {
+      String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+      String extension = name.substring(name.lastIndexOf('.') + 1);
+      switch (extension) {
+        case "wkb":
+          return WKB;
+        case "wkt":
+          return WKT;
+        case "geojson":
+        case "json":
+          return GEOJSON;
+        case "geojsonl":
+        case "geojsons":
+        case "jsonl":
+        case "ndjson":
+          return GEOJSONL;
+        default:
+          throw new IllegalArgumentException("Cannot tell the format of " + path + ", use --input-format or --output-format");
+      }
+    }
+
+    PolarFeatureReader reader(Path path, GeometryFactory geometryFactory) throws IOException {
+      MappedFileInputStream inputStream = new MappedFileInputStream(path);
+      switch (this) {
+        case WKB:
+          return new WkbFeatureReader(inputStream, geometryFactory);
+        case WKT:
+          return new WktFeatureReader(inputStream, geometryFactory);
+        default:
+          return new GeoJsonFeatureReader(inputStream, geometryFactory);
+      }
+    }
+
+    PolarFeatureWriter writer(OutputStream outputStream) throws IOException {
+      switch (this) {
+        case WKB:
+          return new WkbFeatureWriter(outputStream);
+        case WKT:
+          return new WktFeatureWriter(outputStream);
+        case GEOJSON:
+          return new GeoJsonFeatureWriter(outputStream, GeoJsonFeatureWriter.Layout.FEATURE_COLLECTION);
+        default:
+          return new GeoJsonFeatureWriter(outputStream, GeoJsonFeatureWriter.Layout.NEWLINE_DELIMITED);
+      }
+    }
+  }
+
+  private PolarProcessorCli() {
+
+  }
+
+  public static void main(String[] args) {
+    Options options;
+    try {
+      options = Options.parse(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+    if (options == null) {
+      System.out.println(USAGE);
+      return;
+    }
+    try {
+      run(options, System.out);
+    } catch (IOException e) {
+      System.err.println("Unable to split " + options.input + ": " + e.getMessage());
+      System.exit(1);
+    } catch (RuntimeException e) {
+      System.err.println("Unable to split " + options.input + ": " + e);
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Splits the input file into the output file and prints a summary
+   * @param options {@link Options}
+   * @param out stream to print the summary to
+   * @throws IOException if the input cannot be read or the output cannot be written
+   */
+  static void run(Options options, PrintStream out) throws IOException {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    ExecutorService executor = Executors.newFixedThreadPool(options.threads, new WorkerThreadFactory("polar-processor-worker-"));
+    ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(new WorkerThreadFactory("polar-processor-heap-"));
+    HeapSampler heap = new HeapSampler();
+    heap.run();
+    sampler.scheduleAtFixedRate(heap, HEAP_SAMPLE_MILLIS, HEAP_SAMPLE_MILLIS, TimeUnit.MILLISECONDS);
+    long start = System.nanoTime();
+    CountingWriter counts;
+    try (
+        PolarFeatureReader reader = options.inputFormat.reader(options.input, geometryFactory);
+        FileChannel channel = FileChannel.open(options.output,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        PolarFeatureWriter writer = options.outputFormat.writer(Channels.newOutputStream(channel))
+    ) {
+      counts = new CountingWriter(writer);
+      PolarFeaturePipeline.splitPolar(reader, counts, geometryFactory, executor, options.maxInFlight);
+    } finally {
+      executor.shutdownNow();
+      sampler.shutdownNow();
+    }
+    heap.run();
+    double seconds = (System.nanoTime() - start) / 1e9;
+    out.printf(Locale.ROOT, "features:     %d (%d split, %d not split)%n", counts.features, counts.split, counts.features - counts.split);
+    out.printf(Locale.ROOT, "vertices:     %d in, %d out%n", counts.verticesIn, counts.verticesOut);
+    out.printf(Locale.ROOT, "elapsed:      %.3f s on %d threads%n", seconds, options.threads);
+    out.printf(Locale.ROOT, "features/sec: %.1f%n", counts.features / seconds);
+    out.printf(Locale.ROOT, "vertices/sec: %.1f%n", counts.verticesIn / seconds);
+    out.printf(Locale.ROOT, "split ratio:  %.4f%n", counts.features == 0L ? 0D : (double) counts.split / counts.features);
+    out.printf(Locale.ROOT, "peak heap:    %.1f MiB (sampled every %d ms)%n", heap.getPeak() / (1024D * 1024D), HEAP_SAMPLE_MILLIS);
+  }
+
+  /**
+   * Samples the used heap, so the peak is the most heap in use at one time rather than a sum of the peaks of separate memory pools
+   */
+  private static final class HeapSampler implements Runnable {
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final AtomicLong peak = new AtomicLong();
+
+    @Override
+    public void run() {
+      long used = memory.getHeapMemoryUsage().getUsed();
+      peak.accumulateAndGet(used, Math::max);
+    }
+
+    private long getPeak() {
+      return peak.get();
+    }
+  }
+
+  /**
+   * Counts features and vertices as they are written, in input order on the writing thread
+   */
+  private static final class CountingWriter implements PolarFeatureWriter {
+
+    private final PolarFeatureWriter writer;
+    private long features;
+    private long split;
+    private long verticesIn;
+    private long verticesOut;
+
+    private CountingWriter(PolarFeatureWriter writer) {
+      this.writer = writer;
+    }
+
+    @Override
+    public void write(PolarFeature feature) throws IOException {
+      features++;
+      int vertices = feature.getGeometry().map(geometry -> geometry.getNumPoints()).orElse(0);
+      verticesIn += vertices;
+      if (feature.getSplit().isPresent()) {
+        split++;
+        verticesOut += feature.getSplit().get().getNumPoints();
+      } else {
+        verticesOut += vertices;
+      }
+      writer.write(feature);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      writer.close();
+    }
+  }
+
+  private static final class WorkerThreadFactory implements ThreadFactory {
+
+    private final String prefix;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private WorkerThreadFactory(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  /**
+   * Parsed command-line options
+   */
+  static final class Options {
+
+    int threads = Runtime.getRuntime().availableProcessors();
+    int maxInFlight = 1024;
+    Format inputFormat;
+    Format outputFormat;
+    Path input;
+    Path output;
+
+    /**
+     * Parses command-line arguments
+     * @param args command-line arguments
+     * @return {@link Options}, or null if help was requested
+     * @throws IllegalArgumentException if the arguments are invalid
+     */
+    static Options parse(String[] args) {
+      Options options = new Options();
+      int i = 0;
+      for (; i < args.length && args[i].startsWith("--"); i++) {
+        String option = args[i];
+        if ("--help".equals(option)) {
+          return null;
+        }
+        if (i + 1 >= args.length) {
+          throw new IllegalArgumentException("Missing value for " + option);
+        }
+        String value = args[++i];
+        switch (option) {
+          case "--threads":
+            options.threads = positive(option, value);
+            break;
+          case "--max-in-flight":
+            options.maxInFlight = positive(option, value);
+            break;
+          case "--input-format":
+            options.inputFormat = Format.parse(value);
+            break;
+          case "--output-format":
+            options.outputFormat = Format.parse(value);
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown option: " + option);
+        }
+      }
+      if (args.length - i != 2) {
+        throw new IllegalArgumentException("Expected an input and an output file");
+      }
+      options.input = Paths.get(args[i]);
+      options.output = Paths.get(args[i + 1]);
+      if (options.inputFormat == null) {
+        options.inputFormat = Format.of(options.input);
+      }
+      if (options.outputFormat == null) {
+        options.outputFormat = Format.of(options.output);
+      }
+      return options;
+    }
+
+    private static int positive(String option, String value) {
+      int parsed;
+      try {
+        parsed = Integer.parseInt(value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException(option + " must be a number: " + value);
+      }
+      if (parsed < 1) {
+        throw new IllegalArgumentException(option + " must be at least 1: " + parsed);
+      }
+      return parsed;
+    }
+  }
+
+}
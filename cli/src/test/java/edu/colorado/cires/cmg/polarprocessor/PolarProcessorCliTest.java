@@ -0,0 +1,99 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import edu.colorado.cires.cmg.polarprocessor.PolarProcessorCli.Format;
+import edu.colorado.cires.cmg.polarprocessor.PolarProcessorCli.Options;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarProcessorCliTest {
+
+  private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+
+  @Test
+  public void testParse() throws Exception {
+    Options options = Options.parse(new String[]{"--threads", "3", "--max-in-flight", "16", "--output-format", "GeoJSONL", "in.wkt", "out"});
+    assertEquals(3, options.threads);
+    assertEquals(16, options.maxInFlight);
+    assertEquals(Format.WKT, options.inputFormat);
+    assertEquals(Format.GEOJSONL, options.outputFormat);
+    assertEquals(Paths.get("in.wkt"), options.input);
+    assertEquals(Paths.get("out"), options.output);
+
+    options = Options.parse(new String[]{"in.wkb", "out.json"});
+    assertEquals(Runtime.getRuntime().availableProcessors(), options.threads);
+    assertEquals(1024, options.maxInFlight);
+    assertEquals(Format.WKB, options.inputFormat);
+    assertEquals(Format.GEOJSON, options.outputFormat);
+
+    assertNull(Options.parse(new String[]{"--help"}));
+    assertNull(Options.parse(new String[]{"--threads", "2", "--help", "in.wkt"}));
+  }
+
+  @Test
+  public void testParseInvalid() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"in.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"in.wkt", "out.wkt", "extra.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"--threads"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"--threads", "0", "in.wkt", "out.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"--max-in-flight", "many", "in.wkt", "out.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"--input-format", "shp", "in.wkt", "out.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"--verbose", "true", "in.wkt", "out.wkt"}));
+    assertThrows(IllegalArgumentException.class, () -> Options.parse(new String[]{"in.shp", "out.wkt"}));
+  }
+
+  @Test
+  public void testFormat() throws Exception {
+    assertEquals(Format.WKB, Format.parse("wkb"));
+    assertEquals(Format.GEOJSON, Format.parse("GeoJSON"));
+    assertThrows(IllegalArgumentException.class, () -> Format.parse("kml"));
+    assertEquals(Format.WKB, Format.of(Paths.get("dir", "features.WKB")));
+    assertEquals(Format.WKT, Format.of(Paths.get("features.wkt")));
+    assertEquals(Format.GEOJSON, Format.of(Paths.get("features.geojson")));
+    assertEquals(Format.GEOJSON, Format.of(Paths.get("features.json")));
+    assertEquals(Format.GEOJSONL, Format.of(Paths.get("features.geojsonl")));
+    assertEquals(Format.GEOJSONL, Format.of(Paths.get("features.ndjson")));
+    assertThrows(IllegalArgumentException.class, () -> Format.of(Paths.get("features")));
+    assertThrows(IllegalArgumentException.class, () -> Format.of(Paths.get("features.txt")));
+  }
+
+  @Test
+  public void testRoundTrip(@TempDir Path tempDir) throws Exception {
+    String polar = "POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))";
+    String notPolar = "POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))";
+    Path wkt = tempDir.resolve("input.wkt");
+    Files.write(wkt, (polar + "\n" + notPolar + "\n").getBytes(StandardCharsets.UTF_8));
+    Path wkb = tempDir.resolve("split.wkb");
+    Path output = tempDir.resolve("output.wkt");
+
+    ByteArrayOutputStream summary = new ByteArrayOutputStream();
+    PolarProcessorCli.run(Options.parse(new String[]{"--threads", "2", wkt.toString(), wkb.toString()}),
+        new PrintStream(summary, true, "UTF-8"));
+    assertTrue(summary.toString("UTF-8").contains("features:     2 (1 split, 1 not split)"), summary.toString("UTF-8"));
+    PolarProcessorCli.run(Options.parse(new String[]{wkb.toString(), output.toString()}),
+        new PrintStream(new ByteArrayOutputStream(), true, "UTF-8"));
+
+    List<String> lines = Files.readAllLines(output, StandardCharsets.UTF_8);
+    assertEquals(2, lines.size());
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    // the second run splits the already split polygon again, which leaves it as it is
+    assertTrue(PolarProcessor.splitPolar(wktReader.read(polar), geometryFactory).get().equalsExact(wktReader.read(lines.get(0))), lines.get(0));
+    assertTrue(wktReader.read(notPolar).equalsExact(wktReader.read(lines.get(1))), lines.get(1));
+  }
+
+}
@@ -0,0 +1,627 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import org.locationtech.jts.algorithm.LineIntersector;
+import org.locationtech.jts.algorithm.RayCrossingCounter;
+import org.locationtech.jts.algorithm.RobustLineIntersector;
+import org.locationtech.jts.algorithm.locate.IndexedPointInAreaLocator;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Location;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Splits a translated {@link Polygon} across the anti-meridian in a single pass over its rings.
+ * <p>
+ * Translated coordinates are torn at x = +-180, which runs through the pole. Each ring is first mapped to a continuous plane where the right side
+ * of the pole lies beyond x = 180. Rings are then cut at x = 180 into chains lying on either side. Chains are joined along the cut by pairing
+ * the points where they meet it, sorted along the cut. Pieces to the right of the cut are shifted back by -360.
+ * <p>
+ * Shells are returned clockwise and holes counter-clockwise. Shells left of the cut start at their largest coordinate and shells right of the
+ * cut start at their smallest coordinate. Pieces are ordered by the centre of their envelopes, y first, the way spatial4j unions them. This
+ * matches the output of the spatial4j dateline handling in {@link PolarProcessor#split180(Polygon, SplitStrategy)}.
+ */
+final class AntiMeridianSplitter {
+
+  private static final double SEAM = 180D;
+  private static final int LEFT = -1;
+  private static final int RIGHT = 1;
+
+  /**
+   * Number of holes on a side from which pieces are indexed to assign holes to them
+   */
+  static final int INDEXED_HOLES = 16;
+
+  private static final GeometryFactory RING_FACTORY = new GeometryFactory();
+
+  private AntiMeridianSplitter() {
+
+  }
+
+  /**
+   * Splits a translated {@link Polygon} across the anti-meridian
+   * @param translated {@link Polygon} to split
+   * @return the split {@link Geometry}, the original {@link Polygon} if it does not cross the anti-meridian, or empty if the {@link Polygon}
+   *     cannot be split natively
+   */
+  static Optional<Geometry> split(Polygon translated) {
+    if (translated.isEmpty()) {
+      return Optional.of(translated);
+    }
+    double[][] rings = new double[translated.getNumInteriorRing() + 1][];
+    rings[0] = pack(translated.getExteriorRing().getCoordinateSequence());
+    for (int n = 0; n < translated.getNumInteriorRing(); n++) {
+      rings[n + 1] = pack(translated.getInteriorRingN(n).getCoordinateSequence());
+    }
+    List<double[][]> pieces = split(rings);
+    if (pieces == null) {
+      return Optional.empty();
+    }
+    if (pieces.isEmpty()) {
+      return Optional.of(translated);
+    }
+    GeometryFactory geometryFactory = translated.getFactory();
+    Polygon[] polygons = new Polygon[pieces.size()];
+    for (int i = 0; i < polygons.length; i++) {
+      double[][] piece = pieces.get(i);
+      LinearRing[] holes = new LinearRing[piece.length - 1];
+      for (int n = 1; n < piece.length; n++) {
+        holes[n - 1] = geometryFactory.createLinearRing(new PackedCoordinateSequence.Double(piece[n], 2, 0));
+      }
+      polygons[i] = geometryFactory.createPolygon(geometryFactory.createLinearRing(new PackedCoordinateSequence.Double(piece[0], 2, 0)), holes);
+    }
+    if (polygons.length == 1) {
+      return Optional.of(polygons[0]);
+    }
+    return Optional.of(geometryFactory.createMultiPolygon(polygons));
+  }
+
+  private static double[] pack(CoordinateSequence sequence) {
+    int size = sequence.size();
+    double[] packed = new double[size * 2];
+    for (int i = 0; i < size; i++) {
+      packed[i * 2] = sequence.getX(i);
+      packed[i * 2 + 1] = sequence.getY(i);
+    }
+    return packed;
+  }
+
+  /**
+   * Splits translated rings across the anti-meridian
+   * @param rings closed rings of packed x and y translated coordinates, the shell first followed by the holes
+   * @return pieces as packed rings, the shell first followed by the holes; an empty list if the rings do not cross the anti-meridian; or null if
+   *     the rings cannot be split natively
+   */
+  static List<double[][]> split(double[][] rings) {
+    return split(rings, INDEXED_HOLES);
+  }
+
+  /**
+   * Splits translated rings across the anti-meridian
+   * @param rings closed rings of packed x and y translated coordinates, the shell first followed by the holes
+   * @param indexedHoles number of holes on a side from which pieces are indexed to assign holes to them
+   * @return pieces as packed rings, the shell first followed by the holes; an empty list if the rings do not cross the anti-meridian; or null if
+   *     the rings cannot be split natively
+   */
+  static List<double[][]> split(double[][] rings, int indexedHoles) {
+    Ring[] cut = new Ring[rings.length];
+    LineIntersector lineIntersector = new RobustLineIntersector();
+    for (int r = 0; r < rings.length; r++) {
+      Ring ring = Ring.create(rings[r], r == 0, lineIntersector);
+      if (ring == null) {
+        return null;
+      }
+      // a shell right of the cut only needs shifting when it touches the cut
+      if (r == 0 && (!ring.hasSide(RIGHT) || (!ring.hasSide(LEFT) && !ring.hasSide(0)))) {
+        return Collections.emptyList();
+      }
+      cut[r] = ring;
+    }
+    List<Piece> pieces = new ArrayList<>();
+    if (!split(cut, LEFT, pieces, indexedHoles) || !split(cut, RIGHT, pieces, indexedHoles)) {
+      return null;
+    }
+    List<double[][]> result = new ArrayList<>(pieces.size());
+    for (Piece piece : pieces) {
+      result.add(piece.toRings());
+    }
+    result.sort(Comparator.comparingDouble((double[][] piece) -> centre(piece[0], 1)).thenComparingDouble(piece -> centre(piece[0], 0)));
+    return result;
+  }
+
+  private static boolean split(Ring[] rings, int side, List<Piece> pieces, int indexedHoles) {
+    List<Chain> chains = new ArrayList<>();
+    List<double[]> holes = new ArrayList<>();
+    List<Piece> sidePieces = new ArrayList<>();
+    for (int r = 0; r < rings.length; r++) {
+      Ring ring = rings[r];
+      if (ring.isClosedChain(side)) {
+        double[] closed = ring.output(side);
+        if (r == 0) {
+          sidePieces.add(new Piece(side, closed));
+        } else {
+          holes.add(closed);
+        }
+      } else {
+        ring.chains(side, chains);
+      }
+    }
+    if (!pair(chains, side)) {
+      return false;
+    }
+    boolean[] visited = new boolean[chains.size()];
+    for (int c = 0; c < chains.size(); c++) {
+      if (visited[c]) {
+        continue;
+      }
+      RingBuilder builder = new RingBuilder();
+      int current = c;
+      do {
+        if (visited[current]) {
+          return false;
+        }
+        visited[current] = true;
+        Chain chain = chains.get(current);
+        chain.appendTo(builder, side);
+        current = chain.next;
+      } while (current != c);
+      double[] traced = builder.close();
+      if (traced == null) {
+        continue;
+      }
+      double area = signedArea(traced);
+      if (area < 0D) {
+        sidePieces.add(new Piece(side, traced));
+      } else if (area > 0D) {
+        holes.add(traced);
+      }
+    }
+    PieceIndex index = sidePieces.size() > 1 && holes.size() >= indexedHoles ? new PieceIndex(sidePieces) : null;
+    for (double[] hole : holes) {
+      Piece shell = index == null ? findShell(sidePieces, hole) : index.findShell(hole);
+      if (shell == null) {
+        return false;
+      }
+      shell.holes.add(hole);
+    }
+    pieces.addAll(sidePieces);
+    return true;
+  }
+
+  private static Piece findShell(List<Piece> pieces, double[] hole) {
+    if (pieces.size() == 1) {
+      return pieces.get(0);
+    }
+    int size = hole.length / 2 - 1;
+    for (int i = 0; i < size; i++) {
+      double x = hole[i * 2];
+      if (x == SEAM || x == -SEAM) {
+        continue;
+      }
+      Coordinate point = new Coordinate(x, hole[i * 2 + 1]);
+      for (Piece piece : pieces) {
+        int location = RayCrossingCounter.locatePointInRing(point, piece.sequence());
+        if (location == Location.INTERIOR) {
+          return piece;
+        }
+        if (location == Location.BOUNDARY) {
+          break;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the pieces containing holes with an {@link STRtree} of the piece envelopes and an {@link IndexedPointInAreaLocator} for each piece,
+   * so that assigning holes takes logarithmic rather than linear time in the number of pieces and their vertices. Candidate pieces are tried
+   * in the same order as {@link #findShell(List, double[])}, which finds the same piece.
+   */
+  private static final class PieceIndex {
+
+    private final List<Piece> pieces;
+    private final STRtree tree = new STRtree();
+    private final IndexedPointInAreaLocator[] locators;
+
+    private PieceIndex(List<Piece> pieces) {
+      this.pieces = pieces;
+      this.locators = new IndexedPointInAreaLocator[pieces.size()];
+      for (int i = 0; i < pieces.size(); i++) {
+        tree.insert(pieces.get(i).sequence().expandEnvelope(new Envelope()), i);
+      }
+      tree.build();
+    }
+
+    private Piece findShell(double[] hole) {
+      int size = hole.length / 2 - 1;
+      Envelope envelope = new Envelope();
+      for (int i = 0; i < size; i++) {
+        double x = hole[i * 2];
+        if (x == SEAM || x == -SEAM) {
+          continue;
+        }
+        Coordinate point = new Coordinate(x, hole[i * 2 + 1]);
+        envelope.init(point);
+        @SuppressWarnings("unchecked")
+        List<Integer> candidates = tree.query(envelope);
+        Collections.sort(candidates);
+        for (int candidate : candidates) {
+          int location = locator(candidate).locate(point);
+          if (location == Location.INTERIOR) {
+            return pieces.get(candidate);
+          }
+          if (location == Location.BOUNDARY) {
+            break;
+          }
+        }
+      }
+      return null;
+    }
+
+    private IndexedPointInAreaLocator locator(int i) {
+      if (locators[i] == null) {
+        locators[i] = new IndexedPointInAreaLocator(RING_FACTORY.createLinearRing(pieces.get(i).sequence()));
+      }
+      return locators[i];
+    }
+  }
+
+  /**
+   * Pairs the point where each chain leaves a side with the point where the next chain enters it. Left of the cut the boundary runs down the
+   * cut and right of the cut it runs up it, keeping the interior on the right.
+   */
+  private static boolean pair(List<Chain> chains, int side) {
+    int count = chains.size();
+    if (count == 0) {
+      return true;
+    }
+    Integer[] order = new Integer[count * 2];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    // even entries are chain ends (exits), odd entries are chain starts (entries)
+    Arrays.sort(order, Comparator.comparingDouble(i -> key(chains, i, side)));
+    int pending = -1;
+    int i = 0;
+    while (i < order.length) {
+      double key = key(chains, order[i], side);
+      int j = i;
+      while (j < order.length && key(chains, order[j], side) == key) {
+        j++;
+      }
+      List<Integer> exits = new ArrayList<>();
+      List<Integer> entries = new ArrayList<>();
+      for (int k = i; k < j; k++) {
+        if (order[k] % 2 == 0) {
+          exits.add(order[k] / 2);
+        } else {
+          entries.add(order[k] / 2);
+        }
+      }
+      if (pending != -1 && !entries.isEmpty()) {
+        chains.get(pending).next = entries.remove(0);
+        pending = -1;
+      }
+      while (!exits.isEmpty() && !entries.isEmpty()) {
+        chains.get(exits.remove(0)).next = entries.remove(0);
+      }
+      if (!entries.isEmpty() || exits.size() > 1 || (pending != -1 && !exits.isEmpty())) {
+        return false;
+      }
+      if (!exits.isEmpty()) {
+        pending = exits.get(0);
+      }
+      i = j;
+    }
+    return pending == -1;
+  }
+
+  private static double key(List<Chain> chains, int index, int side) {
+    Chain chain = chains.get(index / 2);
+    return side * (index % 2 == 0 ? chain.endY() : chain.startY());
+  }
+
+  private static double centre(double[] ring, int ordinate) {
+    double min = Double.POSITIVE_INFINITY;
+    double max = Double.NEGATIVE_INFINITY;
+    for (int i = ordinate; i < ring.length; i += 2) {
+      min = Math.min(min, ring[i]);
+      max = Math.max(max, ring[i]);
+    }
+    return (min + max) / 2D;
+  }
+
+  private static double signedArea(double[] ring) {
+    int size = ring.length / 2;
+    double sum = 0D;
+    for (int i = 0; i < size - 1; i++) {
+      sum += ring[i * 2] * ring[i * 2 + 3] - ring[i * 2 + 2] * ring[i * 2 + 1];
+    }
+    return sum / 2D;
+  }
+
+  private static double[] reverse(double[] ring) {
+    int size = ring.length / 2;
+    double[] reversed = new double[ring.length];
+    for (int i = 0; i < size; i++) {
+      reversed[i * 2] = ring[(size - 1 - i) * 2];
+      reversed[i * 2 + 1] = ring[(size - 1 - i) * 2 + 1];
+    }
+    return reversed;
+  }
+
+  /**
+   * A ring mapped to the continuous plane with points inserted where its edges cross the cut
+   */
+  private static final class Ring {
+
+    private final double[] x;
+    private final double[] y;
+    private final double[] tornX;
+    private final int[] side;
+    private final int size;
+
+    private Ring(double[] x, double[] y, double[] tornX, int[] side, int size) {
+      this.x = x;
+      this.y = y;
+      this.tornX = tornX;
+      this.side = side;
+      this.size = size;
+    }
+
+    private static double continuous(double x) {
+      return x < 0D ? x + 360D : x;
+    }
+
+    private static int sideOf(double x) {
+      if (x < SEAM) {
+        return LEFT;
+      }
+      if (x > SEAM) {
+        return RIGHT;
+      }
+      return 0;
+    }
+
+    static Ring create(double[] packed, boolean shell, LineIntersector lineIntersector) {
+      int distinct = packed.length / 2 - 1;
+      if (distinct < 3) {
+        return null;
+      }
+      // shells run clockwise and holes counter-clockwise, keeping the interior on the right
+      double[] source = (signedAreaContinuous(packed) > 0D) == shell ? reverse(packed) : packed;
+      int capacity = distinct * 2;
+      double[] x = new double[capacity];
+      double[] y = new double[capacity];
+      double[] tornX = new double[capacity];
+      int[] side = new int[capacity];
+      int size = 0;
+      for (int i = 0; i < distinct; i++) {
+        double x0 = continuous(source[i * 2]);
+        double y0 = source[i * 2 + 1];
+        double x1 = continuous(source[i * 2 + 2]);
+        double y1 = source[i * 2 + 3];
+        if (Math.abs(x1 - x0) > SEAM) {
+          return null;
+        }
+        int s0 = sideOf(x0);
+        int s1 = sideOf(x1);
+        x[size] = x0;
+        y[size] = y0;
+        tornX[size] = source[i * 2];
+        side[size] = s0;
+        size++;
+        if (s0 * s1 < 0) {
+          lineIntersector.computeIntersection(new Coordinate(SEAM, 90D), new Coordinate(SEAM, -90D), new Coordinate(x0, y0), new Coordinate(x1, y1));
+          double crossing = lineIntersector.hasIntersection() ? lineIntersector.getIntersection(0).getY() : y0 + (y1 - y0) * (SEAM - x0) / (x1 - x0);
+          x[size] = SEAM;
+          y[size] = crossing;
+          tornX[size] = SEAM;
+          side[size] = 0;
+          size++;
+        }
+      }
+      return new Ring(x, y, tornX, side, size);
+    }
+
+    private static double signedAreaContinuous(double[] packed) {
+      int size = packed.length / 2;
+      double sum = 0D;
+      for (int i = 0; i < size - 1; i++) {
+        sum += continuous(packed[i * 2]) * packed[i * 2 + 3] - continuous(packed[i * 2 + 2]) * packed[i * 2 + 1];
+      }
+      return sum / 2D;
+    }
+
+    private int edgeSide(int i) {
+      int s = side[i];
+      return s != 0 ? s : side[(i + 1) % size];
+    }
+
+    boolean hasSide(int s) {
+      for (int i = 0; i < size; i++) {
+        if (side[i] == s) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    boolean isClosedChain(int s) {
+      for (int i = 0; i < size; i++) {
+        if (edgeSide(i) != s) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    double outputX(int i, int s) {
+      if (s == LEFT) {
+        return x[i];
+      }
+      return side[i] == 0 ? -SEAM : tornX[i];
+    }
+
+    double[] output(int s) {
+      double[] packed = new double[(size + 1) * 2];
+      for (int i = 0; i <= size; i++) {
+        int index = i % size;
+        packed[i * 2] = outputX(index, s);
+        packed[i * 2 + 1] = y[index];
+      }
+      return packed;
+    }
+
+    void chains(int s, List<Chain> chains) {
+      for (int i = 0; i < size; i++) {
+        int previous = (i + size - 1) % size;
+        if (edgeSide(i) == s && edgeSide(previous) != s) {
+          int end = i;
+          int count = 1;
+          while (edgeSide(end) == s) {
+            end = (end + 1) % size;
+            count++;
+          }
+          chains.add(new Chain(this, i, count));
+        }
+      }
+    }
+  }
+
+  /**
+   * A run of ring edges on one side of the cut, starting and ending on the cut
+   */
+  private static final class Chain {
+
+    private final Ring ring;
+    private final int start;
+    private final int count;
+    private int next = -1;
+
+    private Chain(Ring ring, int start, int count) {
+      this.ring = ring;
+      this.start = start;
+      this.count = count;
+    }
+
+    double startY() {
+      return ring.y[start];
+    }
+
+    double endY() {
+      return ring.y[(start + count - 1) % ring.size];
+    }
+
+    void appendTo(RingBuilder builder, int side) {
+      for (int i = 0; i < count; i++) {
+        int index = (start + i) % ring.size;
+        builder.add(ring.outputX(index, side), ring.y[index]);
+      }
+    }
+  }
+
+  /**
+   * A split piece on one side of the cut
+   */
+  private static final class Piece {
+
+    private final int side;
+    private final double[] shell;
+    private final List<double[]> holes = new ArrayList<>();
+    private CoordinateSequence sequence;
+
+    private Piece(int side, double[] shell) {
+      this.side = side;
+      this.shell = shell;
+    }
+
+    CoordinateSequence sequence() {
+      if (sequence == null) {
+        sequence = new PackedCoordinateSequence.Double(shell, 2, 0);
+      }
+      return sequence;
+    }
+
+    double[][] toRings() {
+      double[][] rings = new double[holes.size() + 1][];
+      rings[0] = rotate(shell, side);
+      for (int i = 0; i < holes.size(); i++) {
+        rings[i + 1] = holes.get(i);
+      }
+      return rings;
+    }
+
+    private static double[] rotate(double[] ring, int side) {
+      int size = ring.length / 2 - 1;
+      int first = 0;
+      for (int i = 1; i < size; i++) {
+        int compare = compare(ring[i * 2], ring[i * 2 + 1], ring[first * 2], ring[first * 2 + 1]);
+        if (side == LEFT ? compare > 0 : compare < 0) {
+          first = i;
+        }
+      }
+      if (first == 0) {
+        return ring;
+      }
+      double[] rotated = new double[ring.length];
+      for (int i = 0; i < size; i++) {
+        int index = (first + i) % size;
+        rotated[i * 2] = ring[index * 2];
+        rotated[i * 2 + 1] = ring[index * 2 + 1];
+      }
+      rotated[size * 2] = rotated[0];
+      rotated[size * 2 + 1] = rotated[1];
+      return rotated;
+    }
+
+    private static int compare(double x0, double y0, double x1, double y1) {
+      int compare = Double.compare(x0, x1);
+      return compare != 0 ? compare : Double.compare(y0, y1);
+    }
+  }
+
+  /**
+   * Accumulates ring coordinates, dropping consecutive duplicates
+   */
+  private static final class RingBuilder {
+
+    private double[] packed = new double[16];
+    private int size;
+
+    void add(double x, double y) {
+      if (size > 0 && packed[size * 2 - 2] == x && packed[size * 2 - 1] == y) {
+        return;
+      }
+      if (size * 2 == packed.length) {
+        packed = Arrays.copyOf(packed, packed.length * 2);
+      }
+      packed[size * 2] = x;
+      packed[size * 2 + 1] = y;
+      size++;
+    }
+
+    double[] close() {
+      if (size > 1 && packed[0] == packed[size * 2 - 2] && packed[1] == packed[size * 2 - 1]) {
+        size--;
+      }
+      if (size < 3) {
+        return null;
+      }
+      add(packed[0], packed[1]);
+      return Arrays.copyOf(packed, size * 2);
+    }
+  }
+
+}
@@ -0,0 +1,128 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Reads GeoJSON features one at a time. The input can be a FeatureCollection, whose features are streamed from its features array, or a
+ * sequence of features or geometries separated by whitespace, newlines or RFC 8142 record separators. Members of a FeatureCollection other
+ * than its features are skipped.
+ */
+public final class GeoJsonFeatureReader implements PolarFeatureReader {
+
+  static final ObjectMapper MAPPER = new ObjectMapper();
+
+  private static final int RECORD_SEPARATOR = 0x1E;
+
+  private final JsonParser parser;
+  private final GeometryFactory geometryFactory;
+  private boolean inFeatures;
+
+  /**
+   * Creates a reader for GeoJSON
+   * @param inputStream UTF-8 GeoJSON
+   * @param geometryFactory {@link GeometryFactory} for creating feature geometries
+   * @throws IOException if the input cannot be read
+   */
+  public GeoJsonFeatureReader(InputStream inputStream, GeometryFactory geometryFactory) throws IOException {
+    this.parser = MAPPER.getFactory().createParser(new RecordSeparatorInputStream(inputStream));
+    this.geometryFactory = geometryFactory;
+  }
+
+  @Override
+  public PolarFeature read() throws IOException {
+    while (true) {
+      JsonToken token = parser.nextToken();
+      if (token == null) {
+        return null;
+      }
+      if (inFeatures) {
+        if (token == JsonToken.END_ARRAY) {
+          inFeatures = false;
+          skipToEndOfObject();
+          continue;
+        }
+        return feature(MAPPER.readTree(parser));
+      }
+      if (token != JsonToken.START_OBJECT) {
+        throw new IOException("Expected a GeoJSON object at " + parser.currentLocation());
+      }
+      ObjectNode node = MAPPER.createObjectNode();
+      while (parser.nextToken() == JsonToken.FIELD_NAME) {
+        String name = parser.currentName();
+        JsonToken value = parser.nextToken();
+        if ("features".equals(name) && value == JsonToken.START_ARRAY) {
+          inFeatures = true;
+          break;
+        }
+        node.set(name, MAPPER.readTree(parser));
+      }
+      if (!inFeatures) {
+        return feature(node);
+      }
+    }
+  }
+
+  private void skipToEndOfObject() throws IOException {
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      parser.nextToken();
+      parser.skipChildren();
+    }
+  }
+
+  private PolarFeature feature(JsonNode node) throws IOException {
+    String type = node.path("type").asText();
+    JsonNode geometry = "Feature".equals(type) ? node.get("geometry") : node;
+    if (geometry == null || !geometry.isObject() || !GeoJsonGeometries.isGeometry(geometry.path("type").asText())) {
+      return new PolarFeature(null, node);
+    }
+    Geometry parsed;
+    try {
+      parsed = GeoJsonGeometries.read(geometry, geometryFactory);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Invalid GeoJSON geometry before " + parser.currentLocation(), e);
+    }
+    return new PolarFeature(parsed, node);
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  /**
+   * Replaces RFC 8142 record separators with whitespace so that GeoJSON text sequences can be parsed as a sequence of JSON values
+   */
+  private static final class RecordSeparatorInputStream extends FilterInputStream {
+
+    private RecordSeparatorInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      return b == RECORD_SEPARATOR ? ' ' : b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int read = super.read(b, off, len);
+      for (int i = off; i < off + read; i++) {
+        if (b[i] == RECORD_SEPARATOR) {
+          b[i] = ' ';
+        }
+      }
+      return read;
+    }
+  }
+
+}
@@ -0,0 +1,132 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Writes GeoJSON features one at a time. Features that were not split are written with the members and values they were read with, although
+ * numbers may be formatted differently. Split geometries are written following RFC 7946, with polygon rings following the right-hand rule.
+ */
+public final class GeoJsonFeatureWriter implements PolarFeatureWriter {
+
+  /**
+   * How features are laid out in the output
+   */
+  public enum Layout {
+    /**
+     * A single FeatureCollection. Geometries read without a feature are wrapped in one.
+     */
+    FEATURE_COLLECTION,
+    /**
+     * One feature or geometry per line
+     */
+    NEWLINE_DELIMITED,
+    /**
+     * An RFC 8142 GeoJSON text sequence
+     */
+    TEXT_SEQUENCE
+  }
+
+  private static final char RECORD_SEPARATOR = 0x1E;
+
+  private final JsonGenerator generator;
+  private final Layout layout;
+
+  /**
+   * Creates a writer for GeoJSON
+   * @param outputStream stream to write UTF-8 GeoJSON to
+   * @param layout {@link Layout} of the output
+   * @throws IOException if the output cannot be written
+   */
+  public GeoJsonFeatureWriter(OutputStream outputStream, Layout layout) throws IOException {
+    this.generator = GeoJsonFeatureReader.MAPPER.getFactory().createGenerator(outputStream);
+    this.generator.setRootValueSeparator(null);
+    this.layout = layout;
+    if (layout == Layout.FEATURE_COLLECTION) {
+      generator.writeStartObject();
+      generator.writeStringField("type", "FeatureCollection");
+      generator.writeArrayFieldStart("features");
+    }
+  }
+
+  @Override
+  public void write(PolarFeature feature) throws IOException {
+    if (layout == Layout.TEXT_SEQUENCE) {
+      generator.writeRaw(RECORD_SEPARATOR);
+    }
+    JsonNode source = feature.getSource() instanceof JsonNode ? (JsonNode) feature.getSource() : null;
+    Optional<Geometry> split = feature.getSplit();
+    boolean isFeature = source != null && "Feature".equals(source.path("type").asText());
+    if (isFeature) {
+      if (split.isPresent()) {
+        writeFeature(source, split.get());
+      } else {
+        generator.writeTree(source);
+      }
+    } else if (layout != Layout.FEATURE_COLLECTION && (source != null || split.isPresent())) {
+      if (split.isPresent()) {
+        GeoJsonGeometries.write(split.get(), generator);
+      } else {
+        generator.writeTree(source);
+      }
+    } else {
+      generator.writeStartObject();
+      generator.writeStringField("type", "Feature");
+      generator.writeFieldName("geometry");
+      writeGeometry(feature, source);
+      generator.writeNullField("properties");
+      generator.writeEndObject();
+    }
+    if (layout != Layout.FEATURE_COLLECTION) {
+      generator.writeRaw('\n');
+    }
+  }
+
+  private void writeGeometry(PolarFeature feature, JsonNode source) throws IOException {
+    if (feature.getSplit().isPresent()) {
+      GeoJsonGeometries.write(feature.getSplit().get(), generator);
+    } else if (source != null) {
+      generator.writeTree(source);
+    } else if (feature.getGeometry().isPresent()) {
+      GeoJsonGeometries.write(feature.getGeometry().get(), generator);
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  private void writeFeature(JsonNode source, Geometry split) throws IOException {
+    generator.writeStartObject();
+    Iterator<Entry<String, JsonNode>> fields = source.fields();
+    while (fields.hasNext()) {
+      Entry<String, JsonNode> field = fields.next();
+      generator.writeFieldName(field.getKey());
+      if ("geometry".equals(field.getKey())) {
+        GeoJsonGeometries.write(split, generator);
+      } else {
+        generator.writeTree(field.getValue());
+      }
+    }
+    generator.writeEndObject();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    generator.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (layout == Layout.FEATURE_COLLECTION) {
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    generator.close();
+  }
+
+}
@@ -0,0 +1,198 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import java.io.IOException;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Converts between RFC 7946 GeoJSON geometry objects and JTS geometries
+ */
+final class GeoJsonGeometries {
+
+  private GeoJsonGeometries() {
+
+  }
+
+  /**
+   * Checks if a GeoJSON object is a geometry object
+   * @param type value of the type member
+   * @return true if the type names a geometry
+   */
+  static boolean isGeometry(String type) {
+    switch (type) {
+      case "Point":
+      case "MultiPoint":
+      case "LineString":
+      case "MultiLineString":
+      case "Polygon":
+      case "MultiPolygon":
+      case "GeometryCollection":
+        return true;
+      default:
+        return false;
+    }
+  }
+
+  /**
+   * Reads a GeoJSON geometry object
+   * @param node geometry object
+   * @param geometryFactory {@link GeometryFactory} for creating the {@link Geometry}
+   * @return {@link Geometry}
+   * @throws IllegalArgumentException if the geometry object is malformed
+   */
+  static Geometry read(JsonNode node, GeometryFactory geometryFactory) {
+    String type = node.path("type").asText();
+    JsonNode coordinates = node.path("coordinates");
+    switch (type) {
+      case "Point":
+        return geometryFactory.createPoint(coordinates.size() == 0 ? null : position(coordinates));
+      case "MultiPoint":
+        return geometryFactory.createMultiPointFromCoords(positions(coordinates));
+      case "LineString":
+        return geometryFactory.createLineString(positions(coordinates));
+      case "MultiLineString":
+        LineString[] lineStrings = new LineString[coordinates.size()];
+        for (int n = 0; n < lineStrings.length; n++) {
+          lineStrings[n] = geometryFactory.createLineString(positions(coordinates.get(n)));
+        }
+        return geometryFactory.createMultiLineString(lineStrings);
+      case "Polygon":
+        return polygon(coordinates, geometryFactory);
+      case "MultiPolygon":
+        Polygon[] polygons = new Polygon[coordinates.size()];
+        for (int n = 0; n < polygons.length; n++) {
+          polygons[n] = polygon(coordinates.get(n), geometryFactory);
+        }
+        return geometryFactory.createMultiPolygon(polygons);
+      case "GeometryCollection":
+        JsonNode members = node.path("geometries");
+        Geometry[] geometries = new Geometry[members.size()];
+        for (int n = 0; n < geometries.length; n++) {
+          geometries[n] = read(members.get(n), geometryFactory);
+        }
+        return geometryFactory.createGeometryCollection(geometries);
+      default:
+        throw new IllegalArgumentException("Unsupported GeoJSON geometry type: " + type);
+    }
+  }
+
+  private static Polygon polygon(JsonNode rings, GeometryFactory geometryFactory) {
+    if (rings.size() == 0) {
+      return geometryFactory.createPolygon();
+    }
+    LinearRing[] holes = new LinearRing[rings.size() - 1];
+    for (int n = 1; n < rings.size(); n++) {
+      holes[n - 1] = geometryFactory.createLinearRing(positions(rings.get(n)));
+    }
+    return geometryFactory.createPolygon(geometryFactory.createLinearRing(positions(rings.get(0))), holes);
+  }
+
+  private static Coordinate[] positions(JsonNode node) {
+    Coordinate[] coordinates = new Coordinate[node.size()];
+    for (int n = 0; n < coordinates.length; n++) {
+      coordinates[n] = position(node.get(n));
+    }
+    return coordinates;
+  }
+
+  private static Coordinate position(JsonNode node) {
+    if (node.size() < 2) {
+      throw new IllegalArgumentException("GeoJSON position requires at least two elements: " + node);
+    }
+    if (node.size() > 2) {
+      return new Coordinate(node.get(0).asDouble(), node.get(1).asDouble(), node.get(2).asDouble());
+    }
+    return new Coordinate(node.get(0).asDouble(), node.get(1).asDouble());
+  }
+
+  /**
+   * Writes a {@link Geometry} as a GeoJSON geometry object. Polygon rings are written following the right-hand rule, exterior rings
+   * counterclockwise and holes clockwise.
+   * @param geometry {@link Geometry} to write
+   * @param generator {@link JsonGenerator} to write to
+   * @throws IOException if the geometry cannot be written
+   */
+  static void write(Geometry geometry, JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("type", geometry.getGeometryType());
+    if (geometry instanceof GeometryCollection && !(geometry instanceof MultiPoint || geometry instanceof MultiLineString
+        || geometry instanceof MultiPolygon)) {
+      generator.writeArrayFieldStart("geometries");
+      for (int n = 0; n < geometry.getNumGeometries(); n++) {
+        write(geometry.getGeometryN(n), generator);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeFieldName("coordinates");
+      coordinates(geometry, generator);
+    }
+    generator.writeEndObject();
+  }
+
+  private static void coordinates(Geometry geometry, JsonGenerator generator) throws IOException {
+    if (geometry instanceof Point) {
+      Point point = (Point) geometry;
+      if (point.isEmpty()) {
+        generator.writeStartArray();
+        generator.writeEndArray();
+      } else {
+        position(point.getCoordinateSequence(), 0, generator);
+      }
+    } else if (geometry instanceof LineString) {
+      positions(((LineString) geometry).getCoordinateSequence(), false, generator);
+    } else if (geometry instanceof Polygon) {
+      Polygon polygon = (Polygon) geometry;
+      generator.writeStartArray();
+      if (!polygon.isEmpty()) {
+        ring(polygon.getExteriorRing().getCoordinateSequence(), true, generator);
+        for (int n = 0; n < polygon.getNumInteriorRing(); n++) {
+          ring(polygon.getInteriorRingN(n).getCoordinateSequence(), false, generator);
+        }
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeStartArray();
+      for (int n = 0; n < geometry.getNumGeometries(); n++) {
+        coordinates(geometry.getGeometryN(n), generator);
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  private static void ring(CoordinateSequence ring, boolean exterior, JsonGenerator generator) throws IOException {
+    positions(ring, ring.size() > 3 && Orientation.isCCW(ring) != exterior, generator);
+  }
+
+  private static void positions(CoordinateSequence sequence, boolean reverse, JsonGenerator generator) throws IOException {
+    int size = sequence.size();
+    generator.writeStartArray();
+    for (int i = 0; i < size; i++) {
+      position(sequence, reverse ? size - 1 - i : i, generator);
+    }
+    generator.writeEndArray();
+  }
+
+  private static void position(CoordinateSequence sequence, int i, JsonGenerator generator) throws IOException {
+    generator.writeStartArray();
+    generator.writeNumber(sequence.getX(i));
+    generator.writeNumber(sequence.getY(i));
+    if (sequence.hasZ() && !Double.isNaN(sequence.getZ(i))) {
+      generator.writeNumber(sequence.getZ(i));
+    }
+    generator.writeEndArray();
+  }
+
+}
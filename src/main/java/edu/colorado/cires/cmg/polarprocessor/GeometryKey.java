@@ -0,0 +1,172 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * A structural key for a {@link Geometry}: its SRID, the types and sizes of its parts and its ordinates.
+ * <p>
+ * The hash is computed by streaming over the coordinate sequences once, without copying them, and the key keeps a reference to the
+ * geometry. Keys with the same hash are confirmed with {@link Geometry#equalsExact(Geometry)}, so the geometry must not be modified while
+ * the key is in use. Z ordinates are part of the key when present, because split tracks keep them.
+ */
+final class GeometryKey {
+
+  private final Geometry geometry;
+  private final int hash;
+
+  private GeometryKey(Geometry geometry, int hash) {
+    this.geometry = geometry;
+    this.hash = hash;
+  }
+
+  /**
+   * Creates a key for a {@link Geometry}
+   * @param geometry {@link Geometry} to create a key for
+   * @return {@link GeometryKey}
+   */
+  static GeometryKey of(Geometry geometry) {
+    return new GeometryKey(geometry, hash(geometry, geometry.getSRID()));
+  }
+
+  /**
+   * Returns the number of vertices of the geometry
+   * @return number of vertices
+   */
+  int getNumPoints() {
+    return geometry.getNumPoints();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    GeometryKey that = (GeometryKey) o;
+    return hash == that.hash
+        && geometry.getSRID() == that.geometry.getSRID()
+        && geometry.equalsExact(that.geometry)
+        && sameZ(geometry, that.geometry);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  private static int hash(Geometry geometry, int hash) {
+    if (geometry instanceof Point) {
+      return hash(((Point) geometry).getCoordinateSequence(), 31 * hash);
+    }
+    if (geometry instanceof LineString) {
+      return hash(((LineString) geometry).getCoordinateSequence(), 31 * hash + 1);
+    }
+    if (geometry instanceof Polygon) {
+      Polygon polygon = (Polygon) geometry;
+      hash = 31 * (31 * hash + 2) + polygon.getNumInteriorRing();
+      hash = hash(polygon.getExteriorRing().getCoordinateSequence(), hash);
+      for (int n = 0; n < polygon.getNumInteriorRing(); n++) {
+        hash = hash(polygon.getInteriorRingN(n).getCoordinateSequence(), hash);
+      }
+      return hash;
+    }
+    if (geometry instanceof GeometryCollection) {
+      // a MultiPolygon is split differently from a GeometryCollection of the same polygons
+      hash = 31 * (31 * hash + collectionType(geometry)) + geometry.getNumGeometries();
+      for (int n = 0; n < geometry.getNumGeometries(); n++) {
+        hash = hash(geometry.getGeometryN(n), hash);
+      }
+      return hash;
+    }
+    throw new IllegalArgumentException("Unsupported geometry type: " + geometry.getGeometryType());
+  }
+
+  private static int collectionType(Geometry geometry) {
+    if (geometry instanceof MultiPoint) {
+      return 3;
+    }
+    if (geometry instanceof MultiLineString) {
+      return 4;
+    }
+    if (geometry instanceof MultiPolygon) {
+      return 5;
+    }
+    return 6;
+  }
+
+  private static int hash(CoordinateSequence sequence, int hash) {
+    int size = sequence.size();
+    boolean z = sequence.hasZ();
+    hash = 31 * (31 * hash + size) + (z ? 3 : 2);
+    for (int i = 0; i < size; i++) {
+      hash = 31 * hash + hash(sequence.getX(i));
+      hash = 31 * hash + hash(sequence.getY(i));
+      if (z) {
+        hash = 31 * hash + hash(sequence.getZ(i));
+      }
+    }
+    return hash;
+  }
+
+  private static int hash(double value) {
+    // equalsExact treats 0 and -0 as equal
+    long bits = Double.doubleToLongBits(value == 0D ? 0D : value);
+    return (int) (bits ^ (bits >>> 32));
+  }
+
+  /**
+   * Checks that two geometries that are equal in two dimensions have the same Z ordinates
+   */
+  private static boolean sameZ(Geometry a, Geometry b) {
+    if (a instanceof Point) {
+      return sameZ(((Point) a).getCoordinateSequence(), ((Point) b).getCoordinateSequence());
+    }
+    if (a instanceof LineString) {
+      return sameZ(((LineString) a).getCoordinateSequence(), ((LineString) b).getCoordinateSequence());
+    }
+    if (a instanceof Polygon) {
+      Polygon polygonA = (Polygon) a;
+      Polygon polygonB = (Polygon) b;
+      if (!sameZ(polygonA.getExteriorRing(), polygonB.getExteriorRing())) {
+        return false;
+      }
+      for (int n = 0; n < polygonA.getNumInteriorRing(); n++) {
+        if (!sameZ(polygonA.getInteriorRingN(n), polygonB.getInteriorRingN(n))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    for (int n = 0; n < a.getNumGeometries(); n++) {
+      if (!sameZ(a.getGeometryN(n), b.getGeometryN(n))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean sameZ(CoordinateSequence a, CoordinateSequence b) {
+    if (a.hasZ() != b.hasZ()) {
+      return false;
+    }
+    if (a.hasZ()) {
+      for (int i = 0; i < a.size(); i++) {
+        if (Double.doubleToLongBits(a.getZ(i)) != Double.doubleToLongBits(b.getZ(i))) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+}
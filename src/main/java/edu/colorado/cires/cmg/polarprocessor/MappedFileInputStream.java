@@ -0,0 +1,105 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a file through memory-mapped windows. Only one window is mapped at a time, so files larger than the address space of a single
+ * {@link MappedByteBuffer} can be read.
+ */
+public final class MappedFileInputStream extends InputStream {
+
+  private static final long DEFAULT_WINDOW_SIZE = 64L * 1024L * 1024L;
+
+  private final FileChannel channel;
+  private final long size;
+  private final long windowSize;
+  private long windowStart;
+  private MappedByteBuffer window;
+
+  /**
+   * Opens a file with 64 MiB windows
+   * @param path file to read
+   * @throws IOException if the file cannot be opened
+   */
+  public MappedFileInputStream(Path path) throws IOException {
+    this(path, DEFAULT_WINDOW_SIZE);
+  }
+
+  /**
+   * Opens a file
+   * @param path file to read
+   * @param windowSize number of bytes mapped at a time
+   * @throws IOException if the file cannot be opened
+   */
+  public MappedFileInputStream(Path path, long windowSize) throws IOException {
+    if (windowSize < 1 || windowSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("windowSize must be between 1 and " + Integer.MAX_VALUE + ": " + windowSize);
+    }
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  private boolean ensureWindow() throws IOException {
+    if (window != null && window.hasRemaining()) {
+      return true;
+    }
+    long start = window == null ? 0L : windowStart + window.capacity();
+    if (start >= size) {
+      return false;
+    }
+    windowStart = start;
+    window = channel.map(MapMode.READ_ONLY, start, Math.min(windowSize, size - start));
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!ensureWindow()) {
+      return -1;
+    }
+    return window.get() & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!ensureWindow()) {
+      return -1;
+    }
+    int read = Math.min(len, window.remaining());
+    window.get(b, off, read);
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (n <= 0 || !ensureWindow()) {
+      return 0L;
+    }
+    int skipped = (int) Math.min(n, window.remaining());
+    ((Buffer) window).position(window.position() + skipped);
+    return skipped;
+  }
+
+  @Override
+  public int available() {
+    return window == null ? 0 : window.remaining();
+  }
+
+  @Override
+  public void close() throws IOException {
+    window = null;
+    channel.close();
+  }
+
+}
@@ -0,0 +1,333 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Splits geometries asynchronously with a {@link CompletableFuture} or {@link Flow} API, for services that must not block.
+ * <p>
+ * At most {@code concurrency} geometries are split at once on the {@link Executor}. Waiting geometries are started in submission order, except
+ * that each geometry is queued as if it had been submitted one position later for every 1024 vertices it has.
+ * Light geometries can therefore overtake heavy ones, but heavy geometries are never postponed indefinitely. Geometries with at least
+ * {@code heavyVertices} vertices may also use at most {@code concurrency - 1} of the slots, so light geometries keep moving while heavy ones
+ * are split.
+ */
+public final class PolarAsyncProcessor {
+
+  /**
+   * Number of vertices that delay a geometry by one queue position
+   */
+  static final int VERTICES_PER_POSITION = 1024;
+
+  private final PolarProcessor processor;
+  private final Executor executor;
+  private final int concurrency;
+  private final int maxInFlight;
+  private final int heavyVertices;
+  private final int heavyConcurrency;
+
+  private final Object lock = new Object();
+  private final PriorityQueue<Task<?>> light = new PriorityQueue<>();
+  private final PriorityQueue<Task<?>> heavy = new PriorityQueue<>();
+  private long sequence;
+  private int running;
+  private int runningHeavy;
+  private int inFlight;
+
+  private PolarAsyncProcessor(Builder builder) {
+    this.processor = builder.processor;
+    this.executor = builder.executor;
+    this.concurrency = builder.concurrency;
+    this.maxInFlight = builder.maxInFlight;
+    this.heavyVertices = builder.heavyVertices;
+    this.heavyConcurrency = Math.max(1, concurrency - 1);
+  }
+
+  /**
+   * Creates a {@link Builder} for an asynchronous processor
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Splits a geometry asynchronously. The returned future can be cancelled to drop a geometry that has not been started.
+   * @param geometry {@link Geometry} to split
+   * @return a future completed with the {@link Geometry} if splitting produces results different from the original {@link Geometry}, or
+   *     completed exceptionally with a {@link RejectedExecutionException} if {@code maxInFlight} geometries are already being split or waiting
+   */
+  public CompletableFuture<Optional<Geometry>> split(Geometry geometry) {
+    Objects.requireNonNull(geometry, "geometry must not be null");
+    synchronized (lock) {
+      if (inFlight >= maxInFlight) {
+        return CompletableFuture.failedFuture(new RejectedExecutionException("maxInFlight geometries are already in flight: " + maxInFlight));
+      }
+      inFlight++;
+    }
+    return schedule(geometry.getNumPoints(), () -> processor.split(geometry), true);
+  }
+
+  /**
+   * Creates a {@link Flow.Processor} that splits the polygons it receives. It requests at most {@code maxInFlight} polygons from its
+   * publisher that have not been handed on yet, and publishes a {@link PolarSplitResult} for each {@link Polygon} to a single subscriber as
+   * soon as it is split, so results are not in input order. Cancelling the subscription cancels the publisher and drops polygons that have
+   * not been started.
+   * @return {@link Flow.Processor}
+   */
+  public Flow.Processor<Polygon, PolarSplitResult> processor() {
+    return new PolarFlowProcessor(this, maxInFlight);
+  }
+
+  /**
+   * Subscribes a new {@link #processor()} to a publisher of polygons
+   * @param polygons {@link Flow.Publisher} of polygons to split
+   * @return {@link Flow.Publisher} of a {@link PolarSplitResult} for each {@link Polygon}
+   */
+  public Flow.Publisher<PolarSplitResult> split(Flow.Publisher<Polygon> polygons) {
+    Flow.Processor<Polygon, PolarSplitResult> flowProcessor = processor();
+    polygons.subscribe(flowProcessor);
+    return flowProcessor;
+  }
+
+  /**
+   * Splits a {@link Polygon} for a {@link Flow} without counting it against {@code maxInFlight}, which the flow bounds itself
+   * @param index position of the {@link Polygon} in the flow
+   * @param polygon {@link Polygon} to split
+   * @return a future completed with the {@link PolarSplitResult}
+   */
+  CompletableFuture<PolarSplitResult> schedule(long index, Polygon polygon) {
+    return schedule(polygon.getNumPoints(), () -> new PolarSplitResult(index, polygon, processor.split(polygon)), false);
+  }
+
+  private <T> CompletableFuture<T> schedule(int vertices, Supplier<T> work, boolean counted) {
+    Task<T> task;
+    List<Task<?>> started;
+    synchronized (lock) {
+      long position = sequence++;
+      task = new Task<>(position, position + vertices / VERTICES_PER_POSITION, vertices >= heavyVertices, counted, work);
+      (task.heavy ? heavy : light).add(task);
+      started = next();
+    }
+    start(started);
+    return task;
+  }
+
+  private List<Task<?>> next() {
+    List<Task<?>> started = Collections.emptyList();
+    while (running < concurrency) {
+      Task<?> task = light.peek();
+      Task<?> heavyTask = runningHeavy < heavyConcurrency ? heavy.peek() : null;
+      if (heavyTask != null && (task == null || heavyTask.compareTo(task) < 0)) {
+        task = heavyTask;
+      }
+      if (task == null) {
+        break;
+      }
+      (task.heavy ? heavy : light).poll();
+      running++;
+      if (task.heavy) {
+        runningHeavy++;
+      }
+      if (started.isEmpty()) {
+        started = new ArrayList<>();
+      }
+      started.add(task);
+    }
+    return started;
+  }
+
+  private void start(List<Task<?>> started) {
+    for (Task<?> task : started) {
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        finished(task);
+        task.completeExceptionally(e);
+      }
+    }
+  }
+
+  private void finished(Task<?> task) {
+    List<Task<?>> started;
+    synchronized (lock) {
+      running--;
+      if (task.heavy) {
+        runningHeavy--;
+      }
+      if (task.counted) {
+        inFlight--;
+      }
+      started = next();
+    }
+    start(started);
+  }
+
+  private void cancelled(Task<?> task) {
+    synchronized (lock) {
+      if ((task.heavy ? heavy : light).remove(task) && task.counted) {
+        inFlight--;
+      }
+    }
+  }
+
+  private final class Task<T> extends CompletableFuture<T> implements Runnable, Comparable<Task<?>> {
+
+    private final long position;
+    private final long priority;
+    private final boolean heavy;
+    private final boolean counted;
+    private final Supplier<T> work;
+
+    private Task(long position, long priority, boolean heavy, boolean counted, Supplier<T> work) {
+      this.position = position;
+      this.priority = priority;
+      this.heavy = heavy;
+      this.counted = counted;
+      this.work = work;
+    }
+
+    @Override
+    public void run() {
+      if (isDone()) {
+        finished(this);
+        return;
+      }
+      T result;
+      try {
+        result = work.get();
+      } catch (RuntimeException | Error e) {
+        finished(this);
+        completeExceptionally(e);
+        return;
+      }
+      // the slot is released first so that callbacks can submit more work
+      finished(this);
+      complete(result);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      boolean cancelled = super.cancel(mayInterruptIfRunning);
+      if (cancelled) {
+        cancelled(this);
+      }
+      return cancelled;
+    }
+
+    @Override
+    public int compareTo(Task<?> other) {
+      int compare = Long.compare(priority, other.priority);
+      return compare == 0 ? Long.compare(position, other.position) : compare;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+      return System.identityHashCode(this);
+    }
+  }
+
+  /**
+   * Configures a {@link PolarAsyncProcessor}
+   */
+  public static final class Builder {
+
+    private PolarProcessor processor = new PolarProcessor();
+    private Executor executor = ForkJoinPool.commonPool();
+    private int concurrency = Runtime.getRuntime().availableProcessors();
+    private int maxInFlight = 1024;
+    private int heavyVertices = 10000;
+
+    private Builder() {
+
+    }
+
+    /**
+     * Sets the {@link PolarProcessor} geometries are split with. Defaults to a processor with the default configuration.
+     * @param processor {@link PolarProcessor}
+     * @return this {@link Builder}
+     */
+    public Builder processor(PolarProcessor processor) {
+      this.processor = Objects.requireNonNull(processor, "processor must not be null");
+      return this;
+    }
+
+    /**
+     * Sets the {@link Executor} geometries are split on. Defaults to {@link ForkJoinPool#commonPool()}.
+     * @param executor {@link Executor}
+     * @return this {@link Builder}
+     */
+    public Builder executor(Executor executor) {
+      this.executor = Objects.requireNonNull(executor, "executor must not be null");
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of geometries split at once. Defaults to the number of available processors.
+     * @param concurrency maximum number of geometries split at once
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if concurrency is less than 1
+     */
+    public Builder concurrency(int concurrency) {
+      if (concurrency < 1) {
+        throw new IllegalArgumentException("concurrency must be greater than 0: " + concurrency);
+      }
+      this.concurrency = concurrency;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of geometries being split or waiting to be split, for futures and for each flow. Defaults to 1024.
+     * @param maxInFlight maximum number of geometries in flight
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if maxInFlight is less than 1
+     */
+    public Builder maxInFlight(int maxInFlight) {
+      if (maxInFlight < 1) {
+        throw new IllegalArgumentException("maxInFlight must be greater than 0: " + maxInFlight);
+      }
+      this.maxInFlight = maxInFlight;
+      return this;
+    }
+
+    /**
+     * Sets the number of vertices from which a geometry is heavy and may not take the last free slot. Defaults to 10000.
+     * @param heavyVertices number of vertices of a heavy geometry
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if heavyVertices is less than 1
+     */
+    public Builder heavyVertices(int heavyVertices) {
+      if (heavyVertices < 1) {
+        throw new IllegalArgumentException("heavyVertices must be greater than 0: " + heavyVertices);
+      }
+      this.heavyVertices = heavyVertices;
+      return this;
+    }
+
+    /**
+     * Creates a {@link PolarAsyncProcessor} with this configuration
+     * @return {@link PolarAsyncProcessor}
+     */
+    public PolarAsyncProcessor build() {
+      return new PolarAsyncProcessor(this);
+    }
+  }
+
+}
@@ -0,0 +1,174 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Splits batches of JTS polygons across the meridian and anti-meridian near the Earth’s poles in parallel
+ */
+public final class PolarBatchProcessor {
+
+  /**
+   * Number of polygons in flight per thread when no limit is given
+   */
+  static final int IN_FLIGHT_PER_THREAD = 4;
+
+  private PolarBatchProcessor() {
+
+  }
+
+  /**
+   * Splits a {@link List} of polygons in parallel using the provided {@link ForkJoinPool}
+   * @param polygons {@link Polygon}s to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygons
+   * @param pool {@link ForkJoinPool} to split polygons on
+   * @return a {@link PolarSplitResult} for each {@link Polygon}, in input order
+   */
+  public static List<PolarSplitResult> splitPolar(List<Polygon> polygons, GeometryFactory geometryFactory, ForkJoinPool pool) {
+    return invoke(pool, () -> IntStream.range(0, polygons.size())
+        .parallel()
+        .mapToObj(i -> split(i, polygons.get(i), geometryFactory))
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Splits a {@link Stream} of polygons in parallel using the provided {@link ForkJoinPool}. Polygons are pulled from the stream as earlier
+   * ones finish, with at most four per thread of the pool being split at once.
+   * @param polygons {@link Polygon}s to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygons
+   * @param pool {@link ForkJoinPool} to split polygons on
+   * @return a {@link PolarSplitResult} for each {@link Polygon}, in encounter order
+   */
+  public static List<PolarSplitResult> splitPolar(Stream<Polygon> polygons, GeometryFactory geometryFactory, ForkJoinPool pool) {
+    List<PolarSplitResult> results = new ArrayList<>();
+    splitPolar(polygons.iterator(), geometryFactory, pool, defaultMaxInFlight(pool), results::add);
+    return results;
+  }
+
+  /**
+   * Splits an {@link Iterable} of polygons in parallel using the provided {@link Executor}. Polygons are pulled from the iterator as earlier
+   * ones finish, with at most four per thread being split at once. Threads are the parallelism of a {@link ForkJoinPool}, or the available
+   * processors for other executors.
+   * @param polygons {@link Polygon}s to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygons
+   * @param executor {@link Executor} to split polygons on
+   * @return a {@link PolarSplitResult} for each {@link Polygon}, in iteration order
+   */
+  public static List<PolarSplitResult> splitPolar(Iterable<Polygon> polygons, GeometryFactory geometryFactory, Executor executor) {
+    List<PolarSplitResult> results = new ArrayList<>();
+    splitPolar(polygons.iterator(), geometryFactory, executor, defaultMaxInFlight(executor), results::add);
+    return results;
+  }
+
+  /**
+   * Returns the number of items held in flight when no limit is given
+   * @param executor {@link Executor} items are processed on
+   * @return {@link #IN_FLIGHT_PER_THREAD} for each thread of the executor
+   */
+  static int defaultMaxInFlight(Executor executor) {
+    int threads = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism() : Runtime.getRuntime().availableProcessors();
+    return Math.max(1, threads) * IN_FLIGHT_PER_THREAD;
+  }
+
+  /**
+   * Splits polygons in parallel using the provided {@link Executor} while bounding the number of polygons held in memory. At most
+   * {@code maxInFlight} polygons are being split or waiting to be handed to the consumer at any time. Results are handed to the consumer on the
+   * calling thread, in iteration order.
+   * @param polygons {@link Polygon}s to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygons
+   * @param executor {@link Executor} to split polygons on
+   * @param maxInFlight maximum number of polygons being processed at once
+   * @param consumer receives a {@link PolarSplitResult} for each {@link Polygon}
+   */
+  public static void splitPolar(
+      Iterator<Polygon> polygons,
+      GeometryFactory geometryFactory,
+      Executor executor,
+      int maxInFlight,
+      Consumer<PolarSplitResult> consumer) {
+    process(polygons, (index, polygon) -> split(index, polygon, geometryFactory), executor, maxInFlight, consumer);
+  }
+
+  /**
+   * Applies a task to items in parallel using the provided {@link Executor} while holding at most {@code maxInFlight} items in memory. Results
+   * are handed to the consumer on the calling thread, in iteration order.
+   * @param items items to process
+   * @param task task applied to the index and value of each item
+   * @param executor {@link Executor} to run tasks on
+   * @param maxInFlight maximum number of items being processed at once
+   * @param consumer receives the result for each item
+   * @param <T> item type
+   * @param <R> result type
+   */
+  static <T, R> void process(Iterator<T> items, BiFunction<Long, T, R> task, Executor executor, int maxInFlight, Consumer<R> consumer) {
+    if (maxInFlight < 1) {
+      throw new IllegalArgumentException("maxInFlight must be greater than 0: " + maxInFlight);
+    }
+    Deque<CompletableFuture<R>> inFlight = new ArrayDeque<>();
+    long index = 0;
+    while (true) {
+      if (inFlight.size() >= maxInFlight) {
+        consumer.accept(join(inFlight.removeFirst()));
+      }
+      if (!items.hasNext()) {
+        break;
+      }
+      long i = index++;
+      T item = items.next();
+      inFlight.addLast(CompletableFuture.supplyAsync(() -> task.apply(i, item), executor));
+    }
+    while (!inFlight.isEmpty()) {
+      consumer.accept(join(inFlight.removeFirst()));
+    }
+  }
+
+  private static PolarSplitResult split(long index, Polygon polygon, GeometryFactory geometryFactory) {
+    return new PolarSplitResult(index, polygon, PolarProcessor.splitPolar(polygon, geometryFactory));
+  }
+
+  private static <R> R join(CompletableFuture<R> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  private static <T> T invoke(ForkJoinPool pool, Callable<T> task) {
+    try {
+      return pool.submit(task).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while splitting polygons", e);
+    } catch (ExecutionException e) {
+      throw unwrap(e.getCause());
+    }
+  }
+
+  private static RuntimeException unwrap(Throwable cause) {
+    if (cause instanceof RuntimeException) {
+      return (RuntimeException) cause;
+    }
+    if (cause instanceof Error) {
+      throw (Error) cause;
+    }
+    return new IllegalStateException("Unable to split polygon", cause);
+  }
+
+}
@@ -0,0 +1,67 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.IntStream;
+
+/**
+ * Runs work over fixed chunks of a range in parallel on a {@link ForkJoinPool}. Chunk boundaries only depend on the size of the range and
+ * the chunk size, never on the number of threads, so work that writes each chunk to its own place produces the same result every time.
+ */
+final class PolarChunks {
+
+  /**
+   * Work over part of a range
+   */
+  @FunctionalInterface
+  interface Range {
+
+    /**
+     * Runs the work over part of the range
+     * @param start first index, inclusive
+     * @param end last index, exclusive
+     */
+    void run(int start, int end);
+  }
+
+  private PolarChunks() {
+
+  }
+
+  /**
+   * Returns the number of chunks a range is divided into
+   * @param size size of the range
+   * @param chunk size of each chunk
+   * @return number of chunks
+   */
+  static int count(int size, int chunk) {
+    return (int) ((size + (long) chunk - 1L) / chunk);
+  }
+
+  /**
+   * Runs work over each chunk of a range, in parallel if there is more than one chunk
+   * @param pool {@link ForkJoinPool} to run chunks on
+   * @param size size of the range
+   * @param chunk size of each chunk
+   * @param range work to run over each chunk
+   */
+  static void forEach(ForkJoinPool pool, int size, int chunk, Range range) {
+    int chunks = count(size, chunk);
+    if (chunks <= 1) {
+      if (size > 0) {
+        range.run(0, size);
+      }
+      return;
+    }
+    Runnable task = () -> IntStream.range(0, chunks)
+        .parallel()
+        .forEach(c -> range.run(c * chunk, (int) Math.min(size, (c + 1L) * chunk)));
+    // parallel streams run on the pool of the worker that starts them
+    if (ForkJoinTask.getPool() == pool) {
+      task.run();
+    } else {
+      pool.submit(task).join();
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Objects;
+import java.util.Optional;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A feature read by a {@link PolarFeatureReader} and written by a {@link PolarFeatureWriter}. Features keep the record they were read from so
+ * that features which are not split can be written back out untouched.
+ */
+public final class PolarFeature {
+
+  private final Geometry geometry;
+  private final Object source;
+  private final Optional<Geometry> split;
+
+  /**
+   * Creates a feature for a {@link Geometry}
+   * @param geometry {@link Geometry} of the feature, or null if the feature has no geometry
+   */
+  public PolarFeature(Geometry geometry) {
+    this(geometry, null, Optional.empty());
+  }
+
+  PolarFeature(Geometry geometry, Object source) {
+    this(geometry, source, Optional.empty());
+  }
+
+  private PolarFeature(Geometry geometry, Object source, Optional<Geometry> split) {
+    this.geometry = geometry;
+    this.source = source;
+    this.split = split;
+  }
+
+  /**
+   * Returns the {@link Geometry} of the feature as read
+   * @return {@link Geometry}, or empty if the feature has no geometry
+   */
+  public Optional<Geometry> getGeometry() {
+    return Optional.ofNullable(geometry);
+  }
+
+  /**
+   * Returns the split {@link Geometry}
+   * @return the split {@link Geometry}, or empty if the feature did not need splitting
+   */
+  public Optional<Geometry> getSplit() {
+    return split;
+  }
+
+  /**
+   * Returns the format specific record the feature was read from
+   * @return record, or null if the feature was not read by a {@link PolarFeatureReader}
+   */
+  Object getSource() {
+    return source;
+  }
+
+  PolarFeature withSplit(Optional<Geometry> split) {
+    return new PolarFeature(geometry, source, split);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PolarFeature that = (PolarFeature) o;
+    return Objects.equals(geometry, that.geometry) && Objects.equals(source, that.source) && Objects.equals(split, that.split);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(geometry, source, split);
+  }
+
+  @Override
+  public String toString() {
+    return "PolarFeature{" +
+        "geometry=" + geometry +
+        ", split=" + split +
+        '}';
+  }
+}
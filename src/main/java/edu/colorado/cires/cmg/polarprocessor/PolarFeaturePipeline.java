@@ -0,0 +1,103 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * Splits features streamed from a {@link PolarFeatureReader} in parallel and writes them to a {@link PolarFeatureWriter} in the order they were
+ * read. Only a bounded number of features is held in memory at once. Features without a polygonal or linear geometry and geometries that do
+ * not need splitting are written as they were read.
+ */
+public final class PolarFeaturePipeline {
+
+  private PolarFeaturePipeline() {
+
+  }
+
+  /**
+   * Splits every feature from a reader and writes it to a writer. Neither the reader nor the writer are closed.
+   * @param reader {@link PolarFeatureReader} to read features from
+   * @param writer {@link PolarFeatureWriter} to write features to
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygons
+   * @param executor {@link Executor} to split features on
+   * @param maxInFlight maximum number of features being processed at once
+   * @return number of features written
+   * @throws IOException if a feature cannot be read or written
+   */
+  public static long splitPolar(
+      PolarFeatureReader reader,
+      PolarFeatureWriter writer,
+      GeometryFactory geometryFactory,
+      Executor executor,
+      int maxInFlight) throws IOException {
+    long[] count = new long[1];
+    try {
+      PolarBatchProcessor.process(
+          new FeatureIterator(reader),
+          (index, feature) -> split(feature, geometryFactory),
+          executor,
+          maxInFlight,
+          feature -> {
+            try {
+              writer.write(feature);
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+            count[0]++;
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+    writer.flush();
+    return count[0];
+  }
+
+  private static PolarFeature split(PolarFeature feature, GeometryFactory geometryFactory) {
+    Optional<Geometry> geometry = feature.getGeometry();
+    if (geometry.isPresent()) {
+      return feature.withSplit(PolarProcessor.splitPolar(geometry.get(), geometryFactory));
+    }
+    return feature;
+  }
+
+  private static final class FeatureIterator implements Iterator<PolarFeature> {
+
+    private final PolarFeatureReader reader;
+    private PolarFeature next;
+    private boolean done;
+
+    private FeatureIterator(PolarFeatureReader reader) {
+      this.reader = reader;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null && !done) {
+        try {
+          next = reader.read();
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+        done = next == null;
+      }
+      return next != null;
+    }
+
+    @Override
+    public PolarFeature next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      PolarFeature feature = next;
+      next = null;
+      return feature;
+    }
+  }
+
+}
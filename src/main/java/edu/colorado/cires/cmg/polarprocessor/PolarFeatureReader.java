@@ -0,0 +1,18 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Reads features one at a time from a source too large to hold in memory
+ */
+public interface PolarFeatureReader extends Closeable {
+
+  /**
+   * Reads the next feature
+   * @return the next {@link PolarFeature}, or null if there are no more features
+   * @throws IOException if the feature cannot be read
+   */
+  PolarFeature read() throws IOException;
+
+}
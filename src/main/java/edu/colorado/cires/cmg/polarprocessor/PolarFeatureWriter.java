@@ -0,0 +1,19 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Writes features one at a time. Features that were not split are written as they were read.
+ */
+public interface PolarFeatureWriter extends Closeable, Flushable {
+
+  /**
+   * Writes a feature, using its split {@link org.locationtech.jts.geom.Geometry} if present
+   * @param feature {@link PolarFeature} to write
+   * @throws IOException if the feature cannot be written
+   */
+  void write(PolarFeature feature) throws IOException;
+
+}
@@ -0,0 +1,216 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * A {@link Flow.Processor} that splits polygons on a {@link PolarAsyncProcessor} and publishes the results to a single subscriber as they
+ * complete.
+ * <p>
+ * Polygons are requested from the publisher so that at most {@code maxInFlight} of them are being split or waiting for demand from the
+ * subscriber. Signals to the subscriber are serialized by a drain loop that any thread completing work may enter.
+ */
+final class PolarFlowProcessor implements Flow.Processor<Polygon, PolarSplitResult> {
+
+  private final PolarAsyncProcessor asyncProcessor;
+  private final int maxInFlight;
+  private final AtomicInteger drains = new AtomicInteger();
+  private final Set<CompletableFuture<PolarSplitResult>> pending = ConcurrentHashMap.newKeySet();
+
+  private final Object lock = new Object();
+  private final ArrayDeque<PolarSplitResult> ready = new ArrayDeque<>();
+  private Flow.Subscriber<? super PolarSplitResult> subscriber;
+  private long demand;
+  private int outstanding;
+  private boolean publisherDone;
+  private Throwable error;
+  private boolean terminated;
+
+  private volatile Flow.Subscription subscription;
+  private volatile boolean cancelled;
+  private long index;
+
+  PolarFlowProcessor(PolarAsyncProcessor asyncProcessor, int maxInFlight) {
+    this.asyncProcessor = asyncProcessor;
+    this.maxInFlight = maxInFlight;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super PolarSplitResult> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber must not be null");
+    boolean accepted;
+    synchronized (lock) {
+      accepted = this.subscriber == null;
+      if (accepted) {
+        this.subscriber = subscriber;
+      }
+    }
+    if (!accepted) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+
+        }
+
+        @Override
+        public void cancel() {
+
+        }
+      });
+      subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+      return;
+    }
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        synchronized (lock) {
+          if (n <= 0) {
+            if (error == null) {
+              error = new IllegalArgumentException("Requested items must be greater than 0: " + n);
+            }
+          } else {
+            demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+          }
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        cancelled = true;
+        Flow.Subscription current = subscription;
+        if (current != null) {
+          current.cancel();
+        }
+        cancelPending();
+        drain();
+      }
+    });
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null || cancelled) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    subscription.request(maxInFlight);
+  }
+
+  @Override
+  public void onNext(Polygon polygon) {
+    if (cancelled) {
+      return;
+    }
+    synchronized (lock) {
+      outstanding++;
+    }
+    CompletableFuture<PolarSplitResult> future = asyncProcessor.schedule(index++, polygon);
+    pending.add(future);
+    future.whenComplete((result, failure) -> {
+      pending.remove(future);
+      synchronized (lock) {
+        outstanding--;
+        if (failure == null) {
+          ready.add(result);
+        } else if (!(failure instanceof CancellationException) && error == null) {
+          error = failure;
+        }
+      }
+      drain();
+    });
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    synchronized (lock) {
+      if (error == null) {
+        error = throwable;
+      }
+      publisherDone = true;
+    }
+    cancelPending();
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    synchronized (lock) {
+      publisherDone = true;
+    }
+    drain();
+  }
+
+  private void cancelPending() {
+    for (CompletableFuture<PolarSplitResult> future : pending) {
+      future.cancel(false);
+    }
+  }
+
+  private void drain() {
+    if (drains.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      emit();
+      missed = drains.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void emit() {
+    while (true) {
+      Flow.Subscriber<? super PolarSplitResult> target;
+      PolarSplitResult result = null;
+      Throwable failure = null;
+      synchronized (lock) {
+        target = subscriber;
+        if (target == null || terminated) {
+          return;
+        }
+        if (cancelled) {
+          terminated = true;
+          ready.clear();
+          return;
+        }
+        if (error != null) {
+          failure = error;
+          terminated = true;
+          ready.clear();
+        } else if (demand > 0 && !ready.isEmpty()) {
+          result = ready.poll();
+          demand--;
+        } else if (publisherDone && outstanding == 0 && ready.isEmpty()) {
+          terminated = true;
+        } else {
+          return;
+        }
+      }
+      if (failure != null) {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+          current.cancel();
+        }
+        cancelPending();
+        target.onError(failure);
+        return;
+      }
+      if (result == null) {
+        target.onComplete();
+        return;
+      }
+      target.onNext(result);
+      subscription.request(1);
+    }
+  }
+
+}
@@ -0,0 +1,239 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Arrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.locationtech.jts.simplify.TopologyPreservingSimplifier;
+
+/**
+ * Simplifies and densifies rings in the plane used for splitting geometries near the Earth’s poles.
+ * <p>
+ * Edges are straight in the translated plane but curve once they are translated back to longitude and latitude. Rather than densifying
+ * the input up front, polygons are simplified with their topology preserved before they are split, and the split pieces are densified as
+ * they are translated back, adding vertices only where a straight longitude and latitude edge would stray from the translated edge by more
+ * than a tolerance. Distances in the translated plane are measured with the pole on the origin so that rings crossing the anti-meridian are
+ * simplified correctly.
+ */
+final class PolarGeneralizer {
+
+  /**
+   * A generalizer that neither simplifies nor densifies
+   */
+  static final PolarGeneralizer NONE = new PolarGeneralizer(0D, 0D);
+
+  /**
+   * Maximum number of times an edge is halved while densifying, adding at most 1023 vertices to an edge
+   */
+  private static final int MAX_DEPTH = 10;
+
+  /**
+   * Maximum number of vertices added to a ring while densifying. Edges past the limit are left straight.
+   */
+  static final int MAX_INSERTED = 1 << 16;
+
+  private static final GeometryFactory RING_FACTORY = new GeometryFactory();
+
+  private final double simplifyTolerance;
+  private final double densifyTolerance;
+
+  private PolarGeneralizer(double simplifyTolerance, double densifyTolerance) {
+    this.simplifyTolerance = simplifyTolerance;
+    this.densifyTolerance = densifyTolerance;
+  }
+
+  /**
+   * Creates a generalizer
+   * @param simplifyTolerance maximum distance, in degrees from the pole, a removed vertex may lie from the simplified ring, or 0 not to
+   *     simplify
+   * @param densifyTolerance maximum distance, in degrees of longitude and latitude, a translated edge may stray from a straight edge, or 0
+   *     not to densify
+   * @return {@link PolarGeneralizer}
+   */
+  static PolarGeneralizer of(double simplifyTolerance, double densifyTolerance) {
+    checkTolerance(simplifyTolerance, "simplifyTolerance");
+    checkTolerance(densifyTolerance, "densifyTolerance");
+    if (simplifyTolerance == 0D && densifyTolerance == 0D) {
+      return NONE;
+    }
+    return new PolarGeneralizer(simplifyTolerance, densifyTolerance);
+  }
+
+  /**
+   * Checks that a tolerance is zero or a positive finite number
+   * @param tolerance tolerance to check
+   * @param name name of the tolerance for the exception message
+   * @throws IllegalArgumentException if the tolerance is negative or not finite
+   */
+  static void checkTolerance(double tolerance, String name) {
+    if (!(tolerance >= 0D) || Double.isInfinite(tolerance)) {
+      throw new IllegalArgumentException(name + " must be zero or a positive finite number: " + tolerance);
+    }
+  }
+
+  /**
+   * Returns the simplification tolerance
+   * @return tolerance in degrees from the pole, 0 if rings are not simplified
+   */
+  double getSimplifyTolerance() {
+    return simplifyTolerance;
+  }
+
+  /**
+   * Returns the densification tolerance
+   * @return tolerance in degrees of longitude and latitude, 0 if edges are not densified
+   */
+  double getDensifyTolerance() {
+    return densifyTolerance;
+  }
+
+  /**
+   * Simplifies the translated rings of a polygon together with JTS {@link TopologyPreservingSimplifier}, with the pole on the origin, so
+   * simplified rings do not cross themselves or each other and keep at least four coordinates. The rings are returned unchanged if the
+   * simplified polygon is not valid.
+   * @param rings packed x and y translated coordinates of the exterior ring followed by the interior rings
+   * @return packed x and y simplified coordinates of the rings, each a subset of the original coordinates
+   */
+  double[][] simplify(double[][] rings) {
+    if (simplifyTolerance == 0D) {
+      return rings;
+    }
+    LinearRing[] shifted = new LinearRing[rings.length];
+    for (int n = 0; n < rings.length; n++) {
+      shifted[n] = RING_FACTORY.createLinearRing(shifted(rings[n]));
+    }
+    Polygon polygon = RING_FACTORY.createPolygon(shifted[0], Arrays.copyOfRange(shifted, 1, shifted.length));
+    Geometry result = TopologyPreservingSimplifier.simplify(polygon, simplifyTolerance);
+    if (!(result instanceof Polygon) || ((Polygon) result).getNumInteriorRing() != rings.length - 1 || !result.isValid()) {
+      return rings;
+    }
+    Polygon simplified = (Polygon) result;
+    double[][] kept = new double[rings.length][];
+    for (int n = 0; n < rings.length; n++) {
+      LinearRing ring = n == 0 ? simplified.getExteriorRing() : simplified.getInteriorRingN(n - 1);
+      kept[n] = kept(rings[n], ring.getCoordinateSequence());
+      if (kept[n] == null) {
+        return rings;
+      }
+    }
+    return kept;
+  }
+
+  private static CoordinateSequence shifted(double[] ring) {
+    double[] packed = new double[ring.length];
+    for (int i = 0; i < ring.length; i += 2) {
+      packed[i] = PolarMath.shift(ring[i]);
+      packed[i + 1] = ring[i + 1];
+    }
+    return new PackedCoordinateSequence.Double(packed, 2, 0);
+  }
+
+  /**
+   * Picks the original coordinates of a ring that the simplifier kept, so kept vertices are not shifted and shifted back
+   * @param ring packed x and y translated coordinates of the original ring
+   * @param simplified simplified ring with the pole on the origin
+   * @return packed x and y kept coordinates, or null if a simplified coordinate is not one of the original coordinates in order
+   */
+  private static double[] kept(double[] ring, CoordinateSequence simplified) {
+    double[] packed = new double[simplified.size() * 2];
+    int i = 0;
+    for (int k = 0; k < simplified.size(); k++) {
+      double x = simplified.getX(k);
+      double y = simplified.getY(k);
+      while (i < ring.length && (PolarMath.shift(ring[i]) != x || ring[i + 1] != y)) {
+        i += 2;
+      }
+      if (i == ring.length) {
+        return null;
+      }
+      packed[k * 2] = ring[i];
+      packed[k * 2 + 1] = ring[i + 1];
+      i += 2;
+    }
+    return packed;
+  }
+
+  /**
+   * Translates a split ring back to longitude and latitude, adding vertices where an edge curves by more than the densification tolerance
+   * @param ring packed x and y translated ring coordinates, including any polar vertices
+   * @param arctic whether the ring lies within arctic circle
+   * @param rounding {@link PolarRounding} for translated ordinates
+   * @return packed longitude and latitude ring coordinates
+   */
+  double[] postSplitDensify(double[] ring, boolean arctic, PolarRounding rounding) {
+    Output output = new Output(ring.length);
+    double x0 = ring[0];
+    double y0 = ring[1];
+    double lon0 = PolarMath.postSplitX(x0, y0, rounding);
+    double lat0 = PolarMath.postSplitY(x0, y0, arctic, rounding);
+    output.add(lon0, lat0);
+    for (int i = 2; i < ring.length; i += 2) {
+      double x1 = ring[i];
+      double y1 = ring[i + 1];
+      double lon1 = PolarMath.postSplitX(x1, y1, rounding);
+      double lat1 = PolarMath.postSplitY(x1, y1, arctic, rounding);
+      // edges to the pole follow a meridian, which is already straight
+      if (!isPole(x0, y0) && !isPole(x1, y1)) {
+        densify(output, x0, y0, lon0, lat0, x1, y1, lon1, lat1, arctic, rounding, 0);
+      }
+      output.add(lon1, lat1);
+      x0 = x1;
+      y0 = y1;
+      lon0 = lon1;
+      lat0 = lat1;
+    }
+    return output.toArray();
+  }
+
+  private static boolean isPole(double x, double y) {
+    return y == 0D && PolarMath.shift(x) == 0D;
+  }
+
+  private void densify(Output output, double x0, double y0, double lon0, double lat0, double x1, double y1, double lon1, double lat1,
+      boolean arctic, PolarRounding rounding, int depth) {
+    if (depth == MAX_DEPTH || output.inserted == MAX_INSERTED) {
+      return;
+    }
+    double x = (x0 + x1) / 2D;
+    double y = (y0 + y1) / 2D;
+    double lon = PolarMath.postSplitX(x, y, rounding);
+    double lat = PolarMath.postSplitY(x, y, arctic, rounding);
+    if (Math.hypot(lon - (lon0 + lon1) / 2D, lat - (lat0 + lat1) / 2D) <= densifyTolerance) {
+      return;
+    }
+    densify(output, x0, y0, lon0, lat0, x, y, lon, lat, arctic, rounding, depth + 1);
+    if (output.inserted == MAX_INSERTED) {
+      return;
+    }
+    output.add(lon, lat);
+    output.inserted++;
+    densify(output, x, y, lon, lat, x1, y1, lon1, lat1, arctic, rounding, depth + 1);
+  }
+
+  private static final class Output {
+
+    private double[] packed;
+    private int size;
+    private int inserted;
+
+    private Output(int capacity) {
+      packed = new double[capacity];
+    }
+
+    private void add(double x, double y) {
+      if (size + 2 > packed.length) {
+        packed = Arrays.copyOf(packed, packed.length * 2);
+      }
+      packed[size++] = x;
+      packed[size++] = y;
+    }
+
+    private double[] toArray() {
+      return size == packed.length ? packed : Arrays.copyOf(packed, size);
+    }
+  }
+
+}
@@ -0,0 +1,292 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import org.apache.commons.math3.util.Precision;
+import org.locationtech.jts.algorithm.CGAlgorithmsDD;
+
+/**
+ * Coordinate arithmetic for translating to and from the plane used for splitting
+ */
+final class PolarMath {
+
+  static final int PRECISION = 11;
+
+  /**
+   * Largest number of decimal places ordinates can be rounded to
+   */
+  static final int MAX_PRECISION = 15;
+
+  /**
+   * Powers of ten by number of decimal places, all exactly representable
+   */
+  private static final double[] SCALES = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15};
+
+  /**
+   * Cosines and sines of whole degree angles from -180 to 180, computed exactly as they would be for each coordinate
+   */
+  private static final double[] COS = new double[361];
+  private static final double[] SIN = new double[361];
+
+  static {
+    for (int degrees = -180; degrees <= 180; degrees++) {
+      COS[degrees + 180] = Math.cos(Math.toRadians(degrees));
+      SIN[degrees + 180] = Math.sin(Math.toRadians(degrees));
+    }
+  }
+
+  /**
+   * Largest scaled magnitude for which the scaled value is accurate to well within {@link #TIE_MARGIN}
+   */
+  private static final double MAX_SCALED = 1e14;
+
+  /**
+   * Scaled values whose fraction is within this distance of one half are rounded with {@link Precision}
+   */
+  private static final double TIE_MARGIN = 0.05;
+
+  private PolarMath() {
+
+  }
+
+  /**
+   * Rounds a translated ordinate to {@link #PRECISION} decimal places using {@link java.math.RoundingMode#HALF_UP}. The result is identical to
+   * {@link Precision#round(double, int)}, which goes through {@link java.math.BigDecimal}. Values that are not close to a rounding tie are
+   * rounded arithmetically. Dividing the exact scaled integer by the exact power of ten gives the same correctly rounded result as
+   * {@link java.math.BigDecimal#doubleValue()}.
+   * @param value value to round
+   * @return rounded value
+   */
+  static double round(double value) {
+    return round(value, PRECISION);
+  }
+
+  /**
+   * Rounds a translated ordinate to a number of decimal places using {@link java.math.RoundingMode#HALF_UP}, with the same result as
+   * {@link Precision#round(double, int)}
+   * @param value value to round
+   * @param precision number of decimal places, from 0 to {@link #MAX_PRECISION}
+   * @return rounded value
+   */
+  static double round(double value, int precision) {
+    double scale = SCALES[precision];
+    double scaled = value * scale;
+    if (Math.abs(scaled) < MAX_SCALED) {
+      double floor = Math.floor(scaled);
+      double fraction = scaled - floor;
+      if (Math.abs(fraction - 0.5D) > TIE_MARGIN) {
+        double rounded = (fraction > 0.5D ? floor + 1D : floor) / scale;
+        return rounded == 0D ? 0D * value : rounded;
+      }
+    }
+    return Precision.round(value, precision);
+  }
+
+  /**
+   * Returns the cosine of an angle in degrees, looked up for whole degrees
+   * @param degrees angle in degrees
+   * @return cosine of the angle
+   */
+  static double cos(double degrees) {
+    if (isWholeDegree(degrees)) {
+      return COS[(int) degrees + 180];
+    }
+    return Math.cos(Math.toRadians(degrees));
+  }
+
+  /**
+   * Returns the sine of an angle in degrees, looked up for whole degrees
+   * @param degrees angle in degrees
+   * @return sine of the angle
+   */
+  static double sin(double degrees) {
+    if (isWholeDegree(degrees)) {
+      return SIN[(int) degrees + 180];
+    }
+    return Math.sin(Math.toRadians(degrees));
+  }
+
+  /**
+   * Zero is left to {@link Math} so that the sign of a negative zero is kept
+   */
+  private static boolean isWholeDegree(double degrees) {
+    return degrees != 0D && degrees >= -180D && degrees <= 180D && degrees == Math.rint(degrees);
+  }
+
+  private static double distance(double lat, boolean arctic) {
+    if (arctic) {
+      return 90D - lat;
+    }
+    return 90D + lat;
+  }
+
+  private static double angle(double lon) {
+    double angle = lon + 90D;
+    if (angle > 180D) {
+      angle = angle - 360D;
+    }
+    return angle;
+  }
+
+  /**
+   * Translates a longitude and latitude to the x ordinate used for splitting
+   * @param lon longitude
+   * @param lat latitude
+   * @param arctic whether the coordinate lies within arctic circle
+   * @return translated x ordinate
+   */
+  static double preSplitX(double lon, double lat, boolean arctic) {
+    return preSplitX(lon, lat, arctic, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Translates a longitude and latitude to the x ordinate used for splitting
+   * @param lon longitude
+   * @param lat latitude
+   * @param arctic whether the coordinate lies within arctic circle
+   * @param rounding {@link PolarRounding} for the translated ordinate
+   * @return translated x ordinate
+   */
+  static double preSplitX(double lon, double lat, boolean arctic, PolarRounding rounding) {
+    double x = distance(lat, arctic) * cos(angle(lon)) + 180D;
+    if (x > 180) {
+      x = x - 360D;
+    }
+    return rounding.round(x);
+  }
+
+  /**
+   * Translates a longitude and latitude to the y ordinate used for splitting
+   * @param lon longitude
+   * @param lat latitude
+   * @param arctic whether the coordinate lies within arctic circle
+   * @return translated y ordinate
+   */
+  static double preSplitY(double lon, double lat, boolean arctic) {
+    return preSplitY(lon, lat, arctic, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Translates a longitude and latitude to the y ordinate used for splitting
+   * @param lon longitude
+   * @param lat latitude
+   * @param arctic whether the coordinate lies within arctic circle
+   * @param rounding {@link PolarRounding} for the translated ordinate
+   * @return translated y ordinate
+   */
+  static double preSplitY(double lon, double lat, boolean arctic, PolarRounding rounding) {
+    return rounding.round(distance(lat, arctic) * sin(angle(lon)));
+  }
+
+  /**
+   * Translates a split x and y ordinate back to a longitude
+   * @param x split x ordinate
+   * @param y split y ordinate
+   * @return longitude
+   */
+  static double postSplitX(double x, double y) {
+    return postSplitX(x, y, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Translates a split x and y ordinate back to a longitude
+   * @param x split x ordinate
+   * @param y split y ordinate
+   * @param rounding {@link PolarRounding} for the longitude
+   * @return longitude
+   */
+  static double postSplitX(double x, double y, PolarRounding rounding) {
+    double shifted = shift(x);
+    double distance = Math.sqrt(Math.pow(shifted, 2) + Math.pow(y, 2));
+    double angle = Math.toDegrees(Math.atan2(y, shifted)) - 90D;
+
+    if (angle > 180D) {
+      angle = angle - 360D;
+    }
+    if (angle < -180D) {
+      angle = angle + 360D;
+    }
+
+    if (distance == 0D) {
+      angle = 180D;
+    }
+
+    if (Math.abs(angle) == 180D) {
+      angle = 180D;
+      if (x < 0D) {
+        angle = angle * -1;
+      }
+    }
+
+    return rounding.round(angle);
+  }
+
+  /**
+   * Translates a split x and y ordinate back to a latitude
+   * @param x split x ordinate
+   * @param y split y ordinate
+   * @param arctic whether the coordinate lies within arctic circle
+   * @return latitude
+   */
+  static double postSplitY(double x, double y, boolean arctic) {
+    return postSplitY(x, y, arctic, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Translates a split x and y ordinate back to a latitude
+   * @param x split x ordinate
+   * @param y split y ordinate
+   * @param arctic whether the coordinate lies within arctic circle
+   * @param rounding {@link PolarRounding} for the latitude
+   * @return latitude
+   */
+  static double postSplitY(double x, double y, boolean arctic, PolarRounding rounding) {
+    double shifted = shift(x);
+    double distance = Math.sqrt(Math.pow(shifted, 2) + Math.pow(y, 2));
+    if (arctic) {
+      distance = 90D - distance;
+    } else {
+      distance = distance - 90D;
+    }
+    return rounding.round(distance);
+  }
+
+  /**
+   * Returns the x ordinate of the pole if it lies on a translated segment, including its end points. This is the same test as
+   * {@link org.locationtech.jts.geom.Geometry#intersects(org.locationtech.jts.geom.Geometry)} between the segment and the pole, without
+   * creating either.
+   * @param x0 translated x ordinate of the start of the segment
+   * @param y0 translated y ordinate of the start of the segment
+   * @param x1 translated x ordinate of the end of the segment
+   * @param y1 translated y ordinate of the end of the segment
+   * @return -180 or 180 if the segment passes through the pole, otherwise 0
+   */
+  static double polarX(double x0, double y0, double x1, double y1) {
+    if (Math.min(y0, y1) > 0D || Math.max(y0, y1) < 0D) {
+      return 0D;
+    }
+    if (isOnSegment(-180D, x0, y0, x1, y1)) {
+      return -180D;
+    }
+    if (isOnSegment(180D, x0, y0, x1, y1)) {
+      return 180D;
+    }
+    return 0D;
+  }
+
+  private static boolean isOnSegment(double poleX, double x0, double y0, double x1, double y1) {
+    return Math.min(x0, x1) <= poleX && poleX <= Math.max(x0, x1) && CGAlgorithmsDD.orientationIndex(x0, y0, x1, y1, poleX, 0D) == 0;
+  }
+
+  /**
+   * Shifts a translated x ordinate so the pole lies on the origin
+   * @param x translated x ordinate
+   * @return shifted x ordinate
+   */
+  static double shift(double x) {
+    x = x + 180D;
+    if (x > 180D) {
+      x = x - 360D;
+    }
+    return x;
+  }
+
+}
@@ -0,0 +1,69 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+/**
+ * Receives timings and counts from a {@link PolarProcessor}, for example to feed a metrics backend.
+ * <p>
+ * All methods do nothing by default, so implementations only override what they record. Methods are called on the threads that split
+ * geometries and must be thread-safe. Processors built without metrics use {@link #NONE} and do not read the clock at all.
+ */
+public interface PolarMetrics {
+
+  /**
+   * Metrics that record nothing
+   */
+  PolarMetrics NONE = new PolarMetrics() {
+  };
+
+  /**
+   * Called when a stage of splitting a polygon or track has completed
+   * @param stage the {@link PolarStage}
+   * @param nanos elapsed time in nanoseconds
+   */
+  default void stageCompleted(PolarStage stage, long nanos) {
+
+  }
+
+  /**
+   * Called when a polygon is rejected by the envelope prefilter without translating any coordinates. The polygon is also reported to
+   * {@link #passedThrough(int)}.
+   * @param vertices number of vertices of the input
+   */
+  default void fastPath(int vertices) {
+
+  }
+
+  /**
+   * Called when a polygon needs the full check for the pole, either because the envelope prefilter could not rule it out or because the
+   * prefilter is not used at the processor’s precision
+   * @param vertices number of vertices of the input
+   */
+  default void fullPath(int vertices) {
+
+  }
+
+  /**
+   * Called when a polygon or track has been split
+   * @param verticesIn number of vertices of the input
+   * @param verticesOut number of vertices of the split result
+   */
+  default void split(int verticesIn, int verticesOut) {
+
+  }
+
+  /**
+   * Called when a polygon or track did not need to be split
+   * @param vertices number of vertices of the input
+   */
+  default void passedThrough(int vertices) {
+
+  }
+
+  /**
+   * Called when a polygon is not split because its exterior ring touches the pole
+   * @param vertices number of vertices of the input
+   */
+  default void rejectedOnPole(int vertices) {
+
+  }
+
+}
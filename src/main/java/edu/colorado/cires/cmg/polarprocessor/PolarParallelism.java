@@ -0,0 +1,113 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import org.locationtech.jts.geom.CoordinateSequence;
+
+/**
+ * Splits very large polygons with the vertices of each ring divided into chunks that are translated and checked in parallel on a
+ * {@link ForkJoinPool}. Chunks are merged in order, so the result is identical to splitting sequentially.
+ */
+final class PolarParallelism {
+
+  /**
+   * Default number of vertices a polygon needs before it is split in parallel
+   */
+  static final int DEFAULT_THRESHOLD = 1 << 16;
+
+  /**
+   * Default number of vertices in each chunk
+   */
+  static final int DEFAULT_CHUNK = 1 << 13;
+
+  /**
+   * Splits every polygon sequentially
+   */
+  static final PolarParallelism NONE = new PolarParallelism(null, Integer.MAX_VALUE, DEFAULT_CHUNK);
+
+  private final ForkJoinPool pool;
+  private final int threshold;
+  private final int chunk;
+
+  private PolarParallelism(ForkJoinPool pool, int threshold, int chunk) {
+    this.pool = pool;
+    this.threshold = threshold;
+    this.chunk = chunk;
+  }
+
+  /**
+   * Creates a parallelism that splits polygons with at least a number of vertices in parallel
+   * @param pool {@link ForkJoinPool} to split on
+   * @param threshold number of vertices a polygon needs before it is split in parallel
+   * @param chunk number of vertices in each chunk
+   * @return {@link PolarParallelism}
+   */
+  static PolarParallelism of(ForkJoinPool pool, int threshold, int chunk) {
+    checkPositive(threshold, "threshold");
+    checkPositive(chunk, "chunk");
+    return new PolarParallelism(Objects.requireNonNull(pool, "pool must not be null"), threshold, chunk);
+  }
+
+  /**
+   * Checks that a vertex count is positive
+   * @param value value to check
+   * @param name name of the value for the error message
+   * @return value
+   */
+  static int checkPositive(int value, String name) {
+    if (value < 1) {
+      throw new IllegalArgumentException(name + " must be at least 1: " + value);
+    }
+    return value;
+  }
+
+  /**
+   * Determines if a polygon is split in parallel
+   * @param vertices number of vertices in the polygon
+   * @return true if the polygon is split in parallel
+   */
+  boolean isParallel(int vertices) {
+    return pool != null && vertices >= threshold;
+  }
+
+  /**
+   * Runs work over chunks of a range, in parallel if there is more than one chunk
+   * @param size size of the range
+   * @param range work to run over each chunk
+   */
+  void forEach(int size, PolarChunks.Range range) {
+    PolarChunks.forEach(pool, size, chunk, range);
+  }
+
+  /**
+   * Runs work for each index of a range in parallel, for work that is already large, like a whole ring
+   * @param size size of the range
+   * @param range work to run over each index
+   */
+  void forEachIndex(int size, PolarChunks.Range range) {
+    PolarChunks.forEach(pool, size, 1, range);
+  }
+
+  /**
+   * Translates a {@link CoordinateSequence} into packed x and y ordinates at the start of an existing array, in parallel chunks
+   * @param filter {@link PolarTranslationFilter} to translate with
+   * @param source {@link CoordinateSequence} to translate
+   * @param packed array of at least twice the size of the {@link CoordinateSequence} to translate into
+   */
+  void translatePacked(PolarTranslationFilter filter, CoordinateSequence source, double[] packed) {
+    forEach(source.size(), (start, end) -> filter.translatePacked(source, packed, start, end));
+  }
+
+  ForkJoinPool getPool() {
+    return pool;
+  }
+
+  int getThreshold() {
+    return threshold;
+  }
+
+  int getChunk() {
+    return chunk;
+  }
+
+}
@@ -0,0 +1,382 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Splits a {@link Polygon} near the Earth’s poles with every vertex translated once and no intermediate geometries.
+ * <p>
+ * The rings are translated into packed arrays, and the exterior ring is checked for the pole with {@link PoleCrossingDetector} on the
+ * translated coordinates. Polar rings are cut with {@link AntiMeridianSplitter}, and each piece is translated back while the polar vertices
+ * are inserted, straight into the packed sequences of the result. The result is identical to running the separate stages in
+ * {@link PolarProcessor} with {@link SplitStrategy#NATIVE}. Those stages are used for rings that cannot be cut natively.
+ */
+final class PolarPolygonSplitter {
+
+  private PolarPolygonSplitter() {
+
+  }
+
+  /**
+   * Splits a {@link Polygon} across the meridian and anti-meridian near the Earth’s poles
+   * @param polygon {@link Polygon} to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygon
+   * @return {@link Geometry} if the {@link Polygon} surrounds a pole and needs to be split
+   */
+  static Optional<Geometry> split(Polygon polygon, GeometryFactory geometryFactory) {
+    return split(polygon, geometryFactory, PolarRounding.DEFAULT, PolarProcessor.isArctic(polygon), null, PolarMetrics.NONE,
+        PolarGeneralizer.NONE, PolarParallelism.NONE);
+  }
+
+  /**
+   * Splits a {@link Polygon} across the meridian and anti-meridian near the Earth’s poles
+   * @param polygon {@link Polygon} to split
+   * @param geometryFactory {@link GeometryFactory} for generating split components of polygon
+   * @param rounding {@link PolarRounding} for translated ordinates
+   * @param arctic whether to split around the north pole rather than the south pole
+   * @param scratch {@link Scratch} to translate the exterior ring into, or null to allocate
+   * @param metrics {@link PolarMetrics} to report to, stages are only timed if not {@link PolarMetrics#NONE}
+   * @param generalizer {@link PolarGeneralizer} to simplify translated rings and densify split rings with
+   * @param parallelism {@link PolarParallelism} to translate and check very large polygons with
+   * @return {@link Geometry} if the {@link Polygon} surrounds a pole and needs to be split
+   */
+  static Optional<Geometry> split(Polygon polygon, GeometryFactory geometryFactory, PolarRounding rounding, boolean arctic, Scratch scratch,
+      PolarMetrics metrics, PolarGeneralizer generalizer, PolarParallelism parallelism) {
+    boolean timed = metrics != PolarMetrics.NONE;
+    long start = timed ? System.nanoTime() : 0L;
+    boolean parallel = parallelism.isParallel(polygon.getNumPoints());
+    PolarTranslationFilter preSplit = PolarTranslationFilter.preSplit(arctic, rounding);
+    CoordinateSequence exterior = polygon.getExteriorRing().getCoordinateSequence();
+    int length = exterior.size() * 2;
+    double[] shell = scratch == null ? new double[length] : scratch.get(length);
+    PoleCrossingDetector.Detection detection;
+    if (parallel) {
+      parallelism.translatePacked(preSplit, exterior, shell);
+      detection = PoleCrossingDetector.detect(shell, length, parallelism.getPool(), parallelism.getChunk());
+    } else {
+      preSplit.translatePacked(exterior, shell);
+      detection = PoleCrossingDetector.detect(shell, length);
+    }
+    if (timed) {
+      long now = System.nanoTime();
+      metrics.stageCompleted(PolarStage.DETECTION, now - start);
+      start = now;
+      if (detection == PoleCrossingDetector.Detection.ON_POLE) {
+        metrics.rejectedOnPole(polygon.getNumPoints());
+      } else if (detection == PoleCrossingDetector.Detection.NOT_POLAR) {
+        metrics.passedThrough(polygon.getNumPoints());
+      }
+    }
+    if (detection != PoleCrossingDetector.Detection.POLAR) {
+      return Optional.empty();
+    }
+    double[][] translated = new double[polygon.getNumInteriorRing() + 1][];
+    translated[0] = scratch == null ? shell : Arrays.copyOf(shell, length);
+    if (parallel) {
+      parallelism.forEachIndex(translated.length - 1, (first, last) -> {
+        for (int n = first; n < last; n++) {
+          CoordinateSequence hole = polygon.getInteriorRingN(n).getCoordinateSequence();
+          translated[n + 1] = new double[hole.size() * 2];
+          parallelism.translatePacked(preSplit, hole, translated[n + 1]);
+        }
+      });
+    } else {
+      for (int n = 0; n < polygon.getNumInteriorRing(); n++) {
+        translated[n + 1] = preSplit.translatePacked(polygon.getInteriorRingN(n).getCoordinateSequence());
+      }
+    }
+    double[][] rings = generalizer == PolarGeneralizer.NONE ? translated : generalizer.simplify(translated);
+    long translation = 0L;
+    if (timed) {
+      long now = System.nanoTime();
+      translation = now - start;
+      start = now;
+    }
+    List<double[][]> pieces = AntiMeridianSplitter.split(rings);
+    Geometry result;
+    if (pieces == null) {
+      result = PolarProcessor.split180(createPolygon(rings, geometryFactory), SplitStrategy.SPATIAL4J);
+      if (timed) {
+        long now = System.nanoTime();
+        metrics.stageCompleted(PolarStage.SPLIT, now - start);
+        start = now;
+      }
+      result = PolarProcessor.addPolarCoordinate(result, geometryFactory);
+      if (generalizer.getDensifyTolerance() > 0D) {
+        result = postSplitDensify(result, geometryFactory, arctic, rounding, generalizer);
+      } else {
+        result = PolarProcessor.postSplitTranslateGeometry(result, geometryFactory, PolarTranslationFilter.postSplit(arctic, rounding));
+      }
+    } else {
+      if (timed) {
+        long now = System.nanoTime();
+        metrics.stageCompleted(PolarStage.SPLIT, now - start);
+        start = now;
+      }
+      List<double[][]> split = pieces.isEmpty() ? Collections.singletonList(rings) : pieces;
+      if (parallel) {
+        result = postSplit(split, geometryFactory, arctic, rounding, generalizer, parallelism);
+      } else {
+        result = postSplit(split, geometryFactory, arctic, rounding, generalizer);
+      }
+    }
+    if (timed) {
+      metrics.stageCompleted(PolarStage.TRANSLATION, translation + System.nanoTime() - start);
+      metrics.split(polygon.getNumPoints(), result.getNumPoints());
+    }
+    return Optional.of(result);
+  }
+
+  private static Geometry postSplit(List<double[][]> pieces, GeometryFactory geometryFactory, boolean arctic, PolarRounding rounding,
+      PolarGeneralizer generalizer) {
+    Polygon[] polygons = new Polygon[pieces.size()];
+    for (int i = 0; i < polygons.length; i++) {
+      double[][] piece = pieces.get(i);
+      double[][] translated = new double[piece.length][];
+      if (generalizer.getDensifyTolerance() > 0D) {
+        translated[0] = generalizer.postSplitDensify(addPolar(piece[0]), arctic, rounding);
+        for (int n = 1; n < piece.length; n++) {
+          translated[n] = generalizer.postSplitDensify(piece[n], arctic, rounding);
+        }
+      } else {
+        translated[0] = postSplit(piece[0], true, arctic, rounding);
+        for (int n = 1; n < piece.length; n++) {
+          translated[n] = postSplit(piece[n], false, arctic, rounding);
+        }
+      }
+      polygons[i] = createPolygon(translated, geometryFactory);
+    }
+    if (polygons.length == 1) {
+      return polygons[0];
+    }
+    return geometryFactory.createMultiPolygon(polygons);
+  }
+
+  /**
+   * Translates the split pieces back with the rings translated in parallel, and each very large ring translated in parallel chunks
+   */
+  private static Geometry postSplit(List<double[][]> pieces, GeometryFactory geometryFactory, boolean arctic, PolarRounding rounding,
+      PolarGeneralizer generalizer, PolarParallelism parallelism) {
+    int[] offsets = new int[pieces.size() + 1];
+    for (int i = 0; i < pieces.size(); i++) {
+      offsets[i + 1] = offsets[i] + pieces.get(i).length;
+    }
+    double[][] translated = new double[offsets[pieces.size()]][];
+    double[][] rings = new double[translated.length][];
+    for (int i = 0; i < pieces.size(); i++) {
+      System.arraycopy(pieces.get(i), 0, rings, offsets[i], pieces.get(i).length);
+    }
+    boolean densify = generalizer.getDensifyTolerance() > 0D;
+    parallelism.forEachIndex(rings.length, (first, last) -> {
+      for (int r = first; r < last; r++) {
+        boolean shell = Arrays.binarySearch(offsets, r) >= 0;
+        if (densify) {
+          translated[r] = generalizer.postSplitDensify(shell ? addPolar(rings[r]) : rings[r], arctic, rounding);
+        } else {
+          translated[r] = postSplit(rings[r], shell, arctic, rounding, parallelism);
+        }
+      }
+    });
+    Polygon[] polygons = new Polygon[pieces.size()];
+    for (int i = 0; i < polygons.length; i++) {
+      polygons[i] = createPolygon(Arrays.copyOfRange(translated, offsets[i], offsets[i + 1]), geometryFactory);
+    }
+    if (polygons.length == 1) {
+      return polygons[0];
+    }
+    return geometryFactory.createMultiPolygon(polygons);
+  }
+
+  /**
+   * Translates a ring back to longitude and latitude
+   * @param ring packed x and y translated ring coordinates
+   * @param addPolar whether to insert the pole where an edge passes through it
+   * @param arctic whether the ring lies within arctic circle
+   * @param rounding {@link PolarRounding} for translated ordinates
+   * @return packed longitude and latitude ring coordinates
+   */
+  private static double[] postSplit(double[] ring, boolean addPolar, boolean arctic, PolarRounding rounding) {
+    int size = ring.length / 2;
+    double[] packed = new double[addPolar ? ring.length + polarCount(ring, 0, size) * 2 : ring.length];
+    postSplit(ring, 0, size, packed, 0, addPolar, arctic, rounding);
+    return packed;
+  }
+
+  /**
+   * Translates a ring back to longitude and latitude in parallel chunks. Each chunk counts the polar vertices it inserts first, so every
+   * chunk knows where its vertices start and the chunks write the same array as {@link #postSplit(double[], boolean, boolean, PolarRounding)}.
+   */
+  private static double[] postSplit(double[] ring, boolean addPolar, boolean arctic, PolarRounding rounding, PolarParallelism parallelism) {
+    int size = ring.length / 2;
+    int chunk = parallelism.getChunk();
+    int chunks = PolarChunks.count(size, chunk);
+    if (chunks <= 1) {
+      return postSplit(ring, addPolar, arctic, rounding);
+    }
+    int[] inserted = new int[chunks + 1];
+    if (addPolar) {
+      parallelism.forEachIndex(chunks, (first, last) -> {
+        for (int c = first; c < last; c++) {
+          inserted[c + 1] = polarCount(ring, c * chunk, Math.min(size, (c + 1) * chunk));
+        }
+      });
+      for (int c = 0; c < chunks; c++) {
+        inserted[c + 1] += inserted[c];
+      }
+    }
+    double[] packed = new double[ring.length + inserted[chunks] * 2];
+    parallelism.forEachIndex(chunks, (first, last) -> {
+      for (int c = first; c < last; c++) {
+        postSplit(ring, c * chunk, Math.min(size, (c + 1) * chunk), packed, (c * chunk + inserted[c]) * 2, addPolar, arctic, rounding);
+      }
+    });
+    return packed;
+  }
+
+  /**
+   * Translates a range of vertices of a ring back to longitude and latitude
+   * @param ring packed x and y translated ring coordinates
+   * @param start index of the first vertex to translate, inclusive
+   * @param end index of the last vertex to translate, exclusive
+   * @param packed array to translate into
+   * @param offset position in the array of the first translated ordinate
+   * @param addPolar whether to insert the pole where an edge passes through it
+   * @param arctic whether the ring lies within arctic circle
+   * @param rounding {@link PolarRounding} for translated ordinates
+   */
+  private static void postSplit(double[] ring, int start, int end, double[] packed, int offset, boolean addPolar, boolean arctic,
+      PolarRounding rounding) {
+    int j = offset;
+    for (int i = start * 2; i < end * 2; i += 2) {
+      double x = ring[i];
+      double y = ring[i + 1];
+      if (addPolar && i > 0) {
+        double poleX = PolarMath.polarX(ring[i - 2], ring[i - 1], x, y);
+        if (poleX != 0D) {
+          packed[j++] = PolarMath.postSplitX(poleX, 0D, rounding);
+          packed[j++] = PolarMath.postSplitY(poleX, 0D, arctic, rounding);
+        }
+      }
+      packed[j++] = PolarMath.postSplitX(x, y, rounding);
+      packed[j++] = PolarMath.postSplitY(x, y, arctic, rounding);
+    }
+  }
+
+  /**
+   * Counts the edges ending at a range of vertices of a translated ring that pass through the pole
+   * @param ring packed x and y translated ring coordinates
+   * @param start index of the first vertex, inclusive
+   * @param end index of the last vertex, exclusive
+   * @return number of polar vertices to insert
+   */
+  private static int polarCount(double[] ring, int start, int end) {
+    int count = 0;
+    for (int i = Math.max(1, start) * 2; i < end * 2; i += 2) {
+      if (PolarMath.polarX(ring[i - 2], ring[i - 1], ring[i], ring[i + 1]) != 0D) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Inserts the pole where an edge of a translated ring passes through it
+   * @param ring packed x and y translated ring coordinates
+   * @return packed x and y translated ring coordinates with polar vertices
+   */
+  private static double[] addPolar(double[] ring) {
+    int count = ring.length + polarCount(ring, 0, ring.length / 2) * 2;
+    if (count == ring.length) {
+      return ring;
+    }
+    double[] packed = new double[count];
+    int j = 0;
+    for (int i = 0; i < ring.length; i += 2) {
+      if (i > 0) {
+        double poleX = PolarMath.polarX(ring[i - 2], ring[i - 1], ring[i], ring[i + 1]);
+        if (poleX != 0D) {
+          packed[j++] = poleX;
+          packed[j++] = 0D;
+        }
+      }
+      packed[j++] = ring[i];
+      packed[j++] = ring[i + 1];
+    }
+    return packed;
+  }
+
+  /**
+   * Densifies and translates back the polygons split by spatial4j, which already have their polar vertices
+   */
+  private static Geometry postSplitDensify(Geometry split, GeometryFactory geometryFactory, boolean arctic, PolarRounding rounding,
+      PolarGeneralizer generalizer) {
+    Polygon[] polygons = new Polygon[split.getNumGeometries()];
+    for (int i = 0; i < polygons.length; i++) {
+      Polygon polygon = (Polygon) split.getGeometryN(i);
+      double[][] rings = new double[polygon.getNumInteriorRing() + 1][];
+      for (int n = 0; n < rings.length; n++) {
+        LinearRing ring = n == 0 ? polygon.getExteriorRing() : polygon.getInteriorRingN(n - 1);
+        rings[n] = generalizer.postSplitDensify(packed(ring.getCoordinateSequence()), arctic, rounding);
+      }
+      polygons[i] = createPolygon(rings, geometryFactory);
+    }
+    if (split instanceof Polygon) {
+      return polygons[0];
+    }
+    return geometryFactory.createMultiPolygon(polygons);
+  }
+
+  private static double[] packed(CoordinateSequence sequence) {
+    double[] packed = new double[sequence.size() * 2];
+    for (int i = 0; i < sequence.size(); i++) {
+      packed[i * 2] = sequence.getX(i);
+      packed[i * 2 + 1] = sequence.getY(i);
+    }
+    return packed;
+  }
+
+  private static Polygon createPolygon(double[][] rings, GeometryFactory geometryFactory) {
+    LinearRing[] holes = new LinearRing[rings.length - 1];
+    for (int n = 1; n < rings.length; n++) {
+      holes[n - 1] = geometryFactory.createLinearRing(new PackedCoordinateSequence.Double(rings[n], 2, 0));
+    }
+    return geometryFactory.createPolygon(geometryFactory.createLinearRing(new PackedCoordinateSequence.Double(rings[0], 2, 0)), holes);
+  }
+
+  /**
+   * A reusable buffer for translating exterior rings. Buffers for very large rings are not kept.
+   */
+  static final class Scratch {
+
+    /**
+     * Largest buffer, in ordinates, that is kept between calls
+     */
+    private static final int MAX_RETAINED = 1 << 17;
+
+    private double[] buffer = new double[0];
+
+    /**
+     * Returns a buffer of at least the given length
+     * @param length number of ordinates needed
+     * @return buffer
+     */
+    double[] get(int length) {
+      if (length > MAX_RETAINED) {
+        return new double[length];
+      }
+      if (buffer.length < length) {
+        buffer = new double[Math.min(Math.max(length, buffer.length * 2), MAX_RETAINED)];
+      }
+      return buffer;
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Cheaply decides that a {@link Polygon} does not need to be split, without translating any coordinates.
+ * <p>
+ * A ring only needs splitting when its translated exterior ring winds around the pole. Each translated edge sweeps the shorter arc between the
+ * longitudes of its end points, so the winding can be computed from the raw longitudes. Inputs that come close to the pole, to the prime
+ * meridian (which is where crossings are counted) or that have edges spanning nearly 180 degrees are left to the full check, so the prefilter
+ * never rejects a {@link Polygon} the full check would split.
+ */
+final class PolarPrefilter {
+
+  /**
+   * Angular margin, in degrees, around the prime meridian and around 180 degree edges
+   */
+  private static final double ANGLE_MARGIN = 1e-3;
+
+  /**
+   * Minimum distance, in degrees, from the pole for the angle of a coordinate to be trusted after rounding
+   */
+  private static final double POLE_MARGIN = 1e-3;
+
+  private PolarPrefilter() {
+
+  }
+
+  /**
+   * Determines if a {@link Polygon} certainly does not need to be split
+   * @param polygon {@link Polygon} to check
+   * @return true if the {@link Polygon} does not need to be split, false if the full check is required
+   */
+  static boolean isNotPolar(Polygon polygon) {
+    Envelope envelope = polygon.getEnvelopeInternal();
+    if (envelope.isNull()) {
+      return true;
+    }
+    double nDist = 90D - envelope.getMaxY();
+    double sDist = 90D + envelope.getMinY();
+    if (Math.min(nDist, sDist) < POLE_MARGIN) {
+      return false;
+    }
+    if (envelope.getWidth() < 180D - 2D * ANGLE_MARGIN && !containsMeridian(envelope.getMinX() - ANGLE_MARGIN, envelope.getMaxX() + ANGLE_MARGIN)) {
+      return true;
+    }
+    return !windsAroundPole(polygon.getExteriorRing().getCoordinateSequence());
+  }
+
+  private static boolean containsMeridian(double minX, double maxX) {
+    return Math.floor(maxX / 360D) * 360D >= minX;
+  }
+
+  private static boolean nearMeridian(double x) {
+    double offset = Math.abs(x - Math.rint(x / 360D) * 360D);
+    return offset < ANGLE_MARGIN;
+  }
+
+  private static boolean windsAroundPole(CoordinateSequence ring) {
+    int size = ring.size();
+    if (size == 0) {
+      return false;
+    }
+    double winding = 0D;
+    double previous = ring.getX(0);
+    if (nearMeridian(previous)) {
+      return true;
+    }
+    for (int i = 1; i < size; i++) {
+      double x = ring.getX(i);
+      if (nearMeridian(x)) {
+        return true;
+      }
+      double delta = x - previous;
+      delta = delta - Math.rint(delta / 360D) * 360D;
+      if (Math.abs(delta) > 180D - ANGLE_MARGIN) {
+        return true;
+      }
+      winding += delta;
+      previous = x;
+    }
+    return Math.abs(winding) >= 180D;
+  }
+
+}
@@ -1,11 +1,13 @@
 package edu.colorado.cires.cmg.polarprocessor;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import org.apache.commons.math3.util.Precision;
-import org.locationtech.jts.geom.Coordinate;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
@@ -16,6 +18,8 @@ import org.locationtech.jts.geom.MultiLineString;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.locationtech.spatial4j.context.jts.JtsSpatialContext;
 import org.locationtech.spatial4j.shape.jts.JtsGeometry;
 
@@ -24,106 +28,74 @@ import org.locationtech.spatial4j.shape.jts.JtsGeometry;
  */
 public class PolarProcessor {
 
+  /**
+   * Collections with at least this many parts are split in parallel
+   */
+  private static final int PARALLEL_PART_COUNT = 64;
 
-  private static final int PRECISION = 11;
-
-  private static Coordinate preSplitTranslateCoordinate(Coordinate coordinate, boolean arctic) {
-
-    double originalY = coordinate.getY();
-
-    double distance;
-    if (arctic) {
-      distance = 90D - originalY;
-    } else {
-      distance = 90D + originalY;
-    }
-
-    double angle = coordinate.getX() + 90D;
-    if(angle > 180D) {
-      angle = angle - 360D;
-    }
-
-    double x = distance * Math.cos(Math.toRadians(angle)) + 180D;
-    if (x > 180) {
-      x = x - 360D;
-    }
-    double y = distance * Math.sin(Math.toRadians(angle));
+  private final GeometryFactory geometryFactory;
+  private final PolarRounding rounding;
+  private final PoleSelection poleSelection;
+  private final boolean prefilter;
+  private final PolarMetrics metrics;
+  private final PolarGeneralizer generalizer;
+  private final PolarParallelism parallelism;
+  private final ThreadLocal<PolarPolygonSplitter.Scratch> scratch = ThreadLocal.withInitial(PolarPolygonSplitter.Scratch::new);
 
-    return new Coordinate(Precision.round(x, PRECISION), Precision.round(y, PRECISION));
+  /**
+   * Creates a processor with the default configuration of {@link #builder()}
+   */
+  public PolarProcessor() {
+    this(builder());
   }
 
+  private PolarProcessor(Builder builder) {
+    this.geometryFactory = builder.geometryFactory;
+    this.rounding = builder.rounding;
+    this.poleSelection = builder.poleSelection;
+    this.prefilter = rounding.isFine();
+    this.metrics = builder.metrics;
+    this.generalizer = PolarGeneralizer.of(builder.simplifyTolerance, builder.densifyTolerance);
+    this.parallelism = builder.forkJoinPool == null ? PolarParallelism.NONE
+        : PolarParallelism.of(builder.forkJoinPool, builder.parallelThreshold, PolarParallelism.DEFAULT_CHUNK);
+  }
 
-  private static Coordinate postSplitTranslateCoordinate(Coordinate coordinate, boolean arctic) {
-    double originalX = coordinate.getX();
-    double x = coordinate.getX();
-    double y = coordinate.getY();
-
-    x = x + 180D;
-
-    if (x > 180D) {
-      x = x - 360D;
-    }
-
-    double distance = Math.sqrt(Math.pow(x, 2) + Math.pow(y, 2));
-    double angle = Math.toDegrees(Math.atan2(y, x)) - 90D;
-
-    if (angle > 180D) {
-      angle = angle - 360D;
-    }
-    if (angle < -180D) {
-      angle = angle + 360D;
-    }
-
-    if (distance == 0D) {
-      angle = 180D;
-    }
-
-    if (Math.abs(angle) == 180D) {
-      angle = 180D;
-      if (originalX < 0D) {
-        angle = angle * -1;
-      }
-    }
-
-    if (arctic) {
-      distance = 90D - distance;
-    } else {
-      distance = distance - 90D;
-    }
-
-    return new Coordinate(Precision.round(angle, PRECISION), Precision.round(distance, PRECISION));
+  /**
+   * Creates a {@link Builder} for a configured processor
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder();
   }
 
   private static LinearRing preSplitTranslateLineString(LinearRing lineString, GeometryFactory geometryFactory, boolean arctic) {
-    Coordinate[] coordinates = new Coordinate[lineString.getNumPoints()];
-    for (int n = 0; n < lineString.getNumPoints(); n++) {
-      coordinates[n] = preSplitTranslateCoordinate(lineString.getCoordinateN(n), arctic);
-    }
-    return geometryFactory.createLinearRing(coordinates);
+    return geometryFactory.createLinearRing(PolarTranslationFilter.preSplit(arctic).translate(lineString.getCoordinateSequence()));
   }
 
-  private static Coordinate[] postSplitTranslateCoordinateArray(LineString lineString, boolean arctic) {
-    Coordinate[] coordinates = new Coordinate[lineString.getNumPoints()];
-    for (int n = 0; n < lineString.getNumPoints(); n++) {
-      coordinates[n] = postSplitTranslateCoordinate(lineString.getCoordinateN(n), arctic);
+  private static CoordinateSequence postSplitTranslateCoordinateSequence(Geometry geometry, PolarTranslationFilter filter) {
+    CoordinateSequence coordinates;
+    if (geometry instanceof Point) {
+      coordinates = ((Point) geometry).getCoordinateSequence();
+    } else {
+      coordinates = ((LineString) geometry).getCoordinateSequence();
     }
-    return coordinates;
+    return filter.translate(coordinates);
   }
 
-  private static LineString postSplitTranslateLineString(LineString lineString, GeometryFactory geometryFactory, boolean arctic) {
-    return geometryFactory.createLineString(postSplitTranslateCoordinateArray(lineString, arctic));
+  private static LineString postSplitTranslateLineString(LineString lineString, GeometryFactory geometryFactory, PolarTranslationFilter filter) {
+    return geometryFactory.createLineString(postSplitTranslateCoordinateSequence(lineString, filter));
   }
 
-  private static LinearRing postSplitTranslateLinearRing(LineString lineString, GeometryFactory geometryFactory, boolean arctic) {
-    return geometryFactory.createLinearRing(postSplitTranslateCoordinateArray(lineString, arctic));
+  private static LinearRing postSplitTranslateLinearRing(LineString lineString, GeometryFactory geometryFactory, PolarTranslationFilter filter) {
+    return geometryFactory.createLinearRing(postSplitTranslateCoordinateSequence(lineString, filter));
   }
 
-  private static Polygon postSplitTranslatePolygon(Polygon geometry, GeometryFactory geometryFactory, boolean arctic) {
+  private static Polygon postSplitTranslatePolygon(Polygon geometry, GeometryFactory geometryFactory, PolarTranslationFilter filter) {
     LinearRing[] holes = new LinearRing[geometry.getNumInteriorRing()];
     for (int n = 0; n < geometry.getNumInteriorRing(); n++) {
-      holes[n] = postSplitTranslateLinearRing(geometry.getInteriorRingN(n), geometryFactory, arctic);
+      holes[n] = postSplitTranslateLinearRing(geometry.getInteriorRingN(n), geometryFactory, filter);
     }
-    return geometryFactory.createPolygon(postSplitTranslateLinearRing(geometry.getExteriorRing(), geometryFactory, arctic), holes);
+    return geometryFactory.createPolygon(postSplitTranslateLinearRing(geometry.getExteriorRing(), geometryFactory, filter), holes);
   }
 
   /**
@@ -147,45 +119,64 @@ public class PolarProcessor {
    * @return {@link Geometry} split across the anti-meridian
    */
   static Geometry split180(Polygon translated) {
+    return split180(translated, SplitStrategy.NATIVE);
+  }
+
+  /**
+   * Splits polygon across anti-meridian
+   * @param translated {@link Polygon} to split
+   * @param strategy {@link SplitStrategy} used to split the {@link Polygon}
+   * @return {@link Geometry} split across the anti-meridian
+   */
+  static Geometry split180(Polygon translated, SplitStrategy strategy) {
+    if (strategy == SplitStrategy.NATIVE) {
+      Optional<Geometry> split = AntiMeridianSplitter.split(translated);
+      if (split.isPresent()) {
+        return split.get();
+      }
+    }
     JtsGeometry jtsGeometry = new JtsGeometry(translated, JtsSpatialContext.GEO, true, false);
     return jtsGeometry.getGeom();
   }
 
-  private static Coordinate[] addPolarCoordinateCoordinateArray(LineString lineString, GeometryFactory geometryFactory) {
-    LinkedList<Coordinate> coordinates = new LinkedList<>();
-    for (int n = 0; n < lineString.getNumPoints(); n++) {
-      Coordinate coordinate = lineString.getCoordinateN(n);
-      if (coordinates.isEmpty()) {
-        coordinates.add(coordinate);
-      } else {
-        Point neg = geometryFactory.createPoint(new Coordinate(-180D, 0D));
-        Point pos = geometryFactory.createPoint(new Coordinate(180D, 0D));
-        LineString seg = geometryFactory.createLineString(new Coordinate[]{coordinates.getLast(), coordinate});
-        if (seg.intersects(neg)) {
-          coordinates.add(neg.getCoordinate());
-        } else if (seg.intersects(pos)) {
-          coordinates.add(pos.getCoordinate());
+  private static double polarX(CoordinateSequence coordinates, int n) {
+    return PolarMath.polarX(coordinates.getX(n - 1), coordinates.getY(n - 1), coordinates.getX(n), coordinates.getY(n));
+  }
+
+  private static CoordinateSequence addPolarCoordinateSequence(CoordinateSequence coordinates) {
+    int size = coordinates.size();
+    int count = size;
+    for (int n = 1; n < size; n++) {
+      if (polarX(coordinates, n) != 0D) {
+        count++;
+      }
+    }
+    double[] packed = new double[count * 2];
+    int i = 0;
+    for (int n = 0; n < size; n++) {
+      if (n > 0) {
+        double poleX = polarX(coordinates, n);
+        if (poleX != 0D) {
+          packed[i++] = poleX;
+          packed[i++] = 0D;
         }
-        coordinates.add(coordinate);
       }
+      packed[i++] = coordinates.getX(n);
+      packed[i++] = coordinates.getY(n);
     }
-    return coordinates.toArray(new Coordinate[0]);
+    return new PackedCoordinateSequence.Double(packed, 2, 0);
   }
 
   private static LineString addPolarCoordinateLineString(LineString lineString, GeometryFactory geometryFactory) {
-    return geometryFactory.createLineString(addPolarCoordinateCoordinateArray(lineString, geometryFactory));
+    return geometryFactory.createLineString(addPolarCoordinateSequence(lineString.getCoordinateSequence()));
   }
 
   private static LinearRing addPolarCoordinateLinearRing(LineString lineString, GeometryFactory geometryFactory) {
-    return geometryFactory.createLinearRing(addPolarCoordinateCoordinateArray(lineString, geometryFactory));
+    return geometryFactory.createLinearRing(addPolarCoordinateSequence(lineString.getCoordinateSequence()));
   }
 
   private static LinearRing toRing(LineString lineString, GeometryFactory geometryFactory) {
-    Coordinate[] coordinates = new Coordinate[lineString.getNumPoints()];
-    for (int n = 0; n < lineString.getNumPoints(); n++) {
-      coordinates[n] = lineString.getCoordinateN(n);
-    }
-    return geometryFactory.createLinearRing(coordinates);
+    return geometryFactory.createLinearRing(lineString.getCoordinateSequence().copy());
   }
 
   private static Polygon addPolarCoordinatePolygon(Polygon polygon, GeometryFactory geometryFactory) {
@@ -248,26 +239,37 @@ public class PolarProcessor {
    * @return translated {@link Geometry}
    */
   static Geometry postSplitTranslateGeometry(Geometry geometry, GeometryFactory geometryFactory, boolean arctic) {
+    return postSplitTranslateGeometry(geometry, geometryFactory, PolarTranslationFilter.postSplit(arctic));
+  }
+
+  /**
+   * Translates {@link Polygon} after splitting
+   * @param geometry Split {@link Geometry}
+   * @param geometryFactory {@link GeometryFactory} for generating translated {@link Geometry}
+   * @param filter post-split {@link PolarTranslationFilter}
+   * @return translated {@link Geometry}
+   */
+  static Geometry postSplitTranslateGeometry(Geometry geometry, GeometryFactory geometryFactory, PolarTranslationFilter filter) {
     if (geometry instanceof Polygon) {
-      return postSplitTranslatePolygon((Polygon) geometry, geometryFactory, arctic);
+      return postSplitTranslatePolygon((Polygon) geometry, geometryFactory, filter);
     } else if (geometry instanceof MultiPolygon) {
-      return postSplitTranslateMultiPolygon((MultiPolygon) geometry, geometryFactory, arctic);
+      return postSplitTranslateMultiPolygon((MultiPolygon) geometry, geometryFactory, filter);
     } else if (geometry instanceof LineString) {
-      return postSplitTranslateLineString((LineString) geometry, geometryFactory, arctic);
+      return postSplitTranslateLineString((LineString) geometry, geometryFactory, filter);
     } else if (geometry instanceof MultiLineString) {
       MultiLineString collection = (MultiLineString) geometry;
       LineString[] geometries = new LineString[collection.getNumGeometries()];
       for (int n = 0; n < collection.getNumGeometries(); n++) {
-        geometries[n] = postSplitTranslateLineString((LineString) collection.getGeometryN(n), geometryFactory, arctic);
+        geometries[n] = postSplitTranslateLineString((LineString) collection.getGeometryN(n), geometryFactory, filter);
       }
       return geometryFactory.createMultiLineString(geometries);
     } else if (geometry instanceof Point) {
-      return geometryFactory.createPoint(postSplitTranslateCoordinate(geometry.getCoordinate(), arctic));
+      return geometryFactory.createPoint(postSplitTranslateCoordinateSequence(geometry, filter));
     } else if (geometry instanceof GeometryCollection) {
       GeometryCollection collection = (GeometryCollection) geometry;
       Geometry[] geometries = new Geometry[collection.getNumGeometries()];
       for (int n = 0; n < collection.getNumGeometries(); n++) {
-        geometries[n] = postSplitTranslateGeometry(collection.getGeometryN(n), geometryFactory, arctic);
+        geometries[n] = postSplitTranslateGeometry(collection.getGeometryN(n), geometryFactory, filter);
       }
       return geometryFactory.createGeometryCollection(geometries);
     } else {
@@ -275,77 +277,341 @@ public class PolarProcessor {
     }
   }
 
-  private static MultiPolygon postSplitTranslateMultiPolygon(MultiPolygon geometry, GeometryFactory geometryFactory, boolean arctic) {
+  private static MultiPolygon postSplitTranslateMultiPolygon(MultiPolygon geometry, GeometryFactory geometryFactory, PolarTranslationFilter filter) {
     Polygon[] polygons = new Polygon[geometry.getNumGeometries()];
     for (int n = 0; n < geometry.getNumGeometries(); n++) {
-      polygons[n] = postSplitTranslatePolygon((Polygon) geometry.getGeometryN(n), geometryFactory, arctic);
+      polygons[n] = postSplitTranslatePolygon((Polygon) geometry.getGeometryN(n), geometryFactory, filter);
     }
     return geometryFactory.createMultiPolygon(polygons);
   }
 
   /**
-   * Splits JTS geometries across the meridian and anti-meridian near the Earth’s poles
+   * Splits JTS geometries across the meridian and anti-meridian near the Earth’s poles. No {@link PolarMetrics} are recorded, including
+   * the {@link PolarMetrics#fastPath(int)} and {@link PolarMetrics#fullPath(int)} counts; build a {@link PolarProcessor} with
+   * {@link Builder#metrics(PolarMetrics)} to record them.
    * @param polygon {@link Polygon} to split
    * @param geometryFactory {@link Geometry} for generating split components of polygon
    * @return {@link Geometry} if splitting {@link Polygon} produces results different from original {@link Polygon}
    */
   public static Optional<Geometry> splitPolar(Polygon polygon, GeometryFactory geometryFactory) {
+    return splitPolar(polygon, geometryFactory, SplitStrategy.NATIVE);
+  }
+
+  /**
+   * Splits JTS geometries across the meridian and anti-meridian near the Earth’s poles
+   * @param polygon {@link Polygon} to split
+   * @param geometryFactory {@link Geometry} for generating split components of polygon
+   * @param strategy {@link SplitStrategy} used to split the {@link Polygon} across the anti-meridian
+   * @return {@link Geometry} if splitting {@link Polygon} produces results different from original {@link Polygon}
+   */
+  public static Optional<Geometry> splitPolar(Polygon polygon, GeometryFactory geometryFactory, SplitStrategy strategy) {
+    if (PolarPrefilter.isNotPolar(polygon)) {
+      return Optional.empty();
+    }
+    if (strategy == SplitStrategy.NATIVE) {
+      return PolarPolygonSplitter.split(polygon, geometryFactory);
+    }
     boolean arctic = isArctic(polygon);
     return isPolar(polygon, geometryFactory)
-        .map(preSplit -> postSplitTranslateGeometry(addPolarCoordinate(split180(preSplit), geometryFactory), geometryFactory, arctic));
+        .map(preSplit -> postSplitTranslateGeometry(addPolarCoordinate(split180(preSplit, strategy), geometryFactory), geometryFactory, arctic));
+  }
+
+  /**
+   * Splits a track across the anti-meridian and the Earth’s poles in a single pass with a {@link PolarTrackSplitter}
+   * @param lineString {@link LineString} to split
+   * @param geometryFactory {@link Geometry} for generating split components of the track
+   * @return {@link LineString} or {@link MultiLineString} if splitting the track produces results different from the original
+   * {@link LineString}
+   */
+  public static Optional<Geometry> splitPolar(LineString lineString, GeometryFactory geometryFactory) {
+    return PolarTrackSplitter.split(lineString, geometryFactory);
+  }
+
+  /**
+   * Splits the polygonal and linear parts of JTS geometries across the meridian and anti-meridian near the Earth’s poles. Each
+   * {@link Polygon} and {@link LineString} within a {@link MultiPolygon}, {@link MultiLineString} or {@link GeometryCollection} is checked and
+   * split on its own, in parallel for large collections. Parts that do not need splitting are reused as-is.
+   * @param geometry {@link Geometry} to split
+   * @param geometryFactory {@link Geometry} for generating split components of geometry
+   * @return {@link Geometry} if splitting any part of the {@link Geometry} produces results different from the original {@link Geometry}
+   */
+  public static Optional<Geometry> splitPolar(Geometry geometry, GeometryFactory geometryFactory) {
+    if (geometry instanceof Polygon) {
+      return splitPolar((Polygon) geometry, geometryFactory);
+    }
+    if (geometry instanceof LineString) {
+      return splitPolar((LineString) geometry, geometryFactory);
+    }
+    return splitParts(geometry, geometryFactory, part -> splitPolar(part, geometryFactory));
+  }
+
+  private static Optional<Geometry> splitParts(Geometry geometry, GeometryFactory geometryFactory, Function<Geometry, Optional<Geometry>> split) {
+    if (!(geometry instanceof GeometryCollection) || geometry.isEmpty()) {
+      return Optional.empty();
+    }
+    int count = geometry.getNumGeometries();
+    IntStream indexes = IntStream.range(0, count);
+    if (count >= PARALLEL_PART_COUNT) {
+      indexes = indexes.parallel();
+    }
+    @SuppressWarnings("unchecked")
+    Optional<Geometry>[] splits = indexes.mapToObj(n -> split.apply(geometry.getGeometryN(n))).toArray(Optional[]::new);
+    boolean changed = false;
+    for (Optional<Geometry> part : splits) {
+      changed |= part.isPresent();
+    }
+    if (!changed) {
+      return Optional.empty();
+    }
+    boolean multiPolygon = geometry instanceof MultiPolygon;
+    boolean multiLineString = geometry instanceof MultiLineString;
+    List<Geometry> parts = new ArrayList<>(count);
+    for (int n = 0; n < count; n++) {
+      Geometry part = splits[n].orElse(geometry.getGeometryN(n));
+      if ((multiPolygon && part instanceof MultiPolygon) || (multiLineString && part instanceof MultiLineString)) {
+        for (int i = 0; i < part.getNumGeometries(); i++) {
+          parts.add(part.getGeometryN(i));
+        }
+      } else {
+        parts.add(part);
+      }
+    }
+    if (multiPolygon && parts.stream().allMatch(part -> part instanceof Polygon)) {
+      return Optional.of(geometryFactory.createMultiPolygon(parts.toArray(new Polygon[0])));
+    }
+    if (multiLineString) {
+      return Optional.of(geometryFactory.createMultiLineString(parts.toArray(new LineString[0])));
+    }
+    return Optional.of(geometryFactory.createGeometryCollection(parts.toArray(new Geometry[0])));
+  }
+
+  /**
+   * Splits a {@link Polygon} across the meridian and anti-meridian near the Earth’s poles with this processor’s configuration. Polygons are
+   * always cut with {@link SplitStrategy#NATIVE}.
+   * @param polygon {@link Polygon} to split
+   * @return {@link Geometry} if splitting {@link Polygon} produces results different from original {@link Polygon}
+   */
+  public Optional<Geometry> split(Polygon polygon) {
+    if (prefilter) {
+      long start = metrics == PolarMetrics.NONE ? 0L : System.nanoTime();
+      boolean notPolar = PolarPrefilter.isNotPolar(polygon);
+      if (metrics != PolarMetrics.NONE) {
+        metrics.stageCompleted(PolarStage.PREFILTER, System.nanoTime() - start);
+        if (notPolar) {
+          metrics.fastPath(polygon.getNumPoints());
+          metrics.passedThrough(polygon.getNumPoints());
+        }
+      }
+      if (notPolar) {
+        return Optional.empty();
+      }
+    }
+    if (metrics != PolarMetrics.NONE) {
+      metrics.fullPath(polygon.getNumPoints());
+    }
+    boolean arctic = poleSelection == PoleSelection.NEAREST ? isArctic(polygon) : poleSelection == PoleSelection.ARCTIC;
+    return PolarPolygonSplitter.split(polygon, geometryFactory, rounding, arctic, scratch.get(), metrics, generalizer, parallelism);
+  }
+
+  /**
+   * Splits a track across the anti-meridian and the Earth’s poles with this processor’s configuration. The pole is chosen for each segment
+   * of the track regardless of the {@link PoleSelection}.
+   * @param lineString {@link LineString} to split
+   * @return {@link LineString} or {@link MultiLineString} if splitting the track produces results different from the original
+   * {@link LineString}
+   */
+  public Optional<Geometry> split(LineString lineString) {
+    if (metrics == PolarMetrics.NONE) {
+      return PolarTrackSplitter.split(lineString, geometryFactory, rounding);
+    }
+    long start = System.nanoTime();
+    Optional<Geometry> split = PolarTrackSplitter.split(lineString, geometryFactory, rounding);
+    metrics.stageCompleted(PolarStage.SPLIT, System.nanoTime() - start);
+    if (split.isPresent()) {
+      metrics.split(lineString.getNumPoints(), split.get().getNumPoints());
+    } else {
+      metrics.passedThrough(lineString.getNumPoints());
+    }
+    return split;
+  }
+
+  /**
+   * Splits the polygonal and linear parts of JTS geometries with this processor’s configuration, in parallel for large collections
+   * @param geometry {@link Geometry} to split
+   * @return {@link Geometry} if splitting any part of the {@link Geometry} produces results different from the original {@link Geometry}
+   */
+  public Optional<Geometry> split(Geometry geometry) {
+    if (geometry instanceof Polygon) {
+      return split((Polygon) geometry);
+    }
+    if (geometry instanceof LineString) {
+      return split((LineString) geometry);
+    }
+    return splitParts(geometry, geometryFactory, this::split);
   }
 
-  private static boolean isArctic(Polygon polygon) {
+  /**
+   * Returns the {@link GeometryFactory} split geometries are created with
+   * @return {@link GeometryFactory}
+   */
+  public GeometryFactory getGeometryFactory() {
+    return geometryFactory;
+  }
+
+  /**
+   * Determines if a {@link Polygon} lies nearer the north pole than the south pole
+   * @param polygon {@link Polygon} to check
+   * @return whether {@link Polygon} lies within arctic circle
+   */
+  static boolean isArctic(Polygon polygon) {
     Envelope envelope = polygon.getEnvelopeInternal();
     double nDist = 90D - envelope.getMaxY();
     double sDist = 90D + envelope.getMinY();
     return nDist <= sDist;
   }
 
-  private static Coordinate shiftCoordinate(Coordinate c) {
-    c = c.copy();
-    double x = c.getX();
-    x = x + 180D;
-    if (x > 180D) {
-      x = x - 360D;
+  /**
+   * Determines if a {@link Polygon} surrounds a pole and needs to be split
+   * @param polygon {@link Polygon} to check
+   * @param geometryFactory {@link GeometryFactory} for creating translated polygons
+   * @return translated {@link Polygon} if the {@link Polygon} needs to be split
+   */
+  static Optional<Polygon> isPolar(Polygon polygon, GeometryFactory geometryFactory) {
+    boolean arctic = isArctic(polygon);
+    if (PoleCrossingDetector.detect(polygon.getExteriorRing().getCoordinateSequence(), arctic) == PoleCrossingDetector.Detection.POLAR) {
+      return Optional.of(preSplitTranslatePolygon(polygon, geometryFactory, arctic));
     }
-    c.setX(x);
-    return c;
+    return Optional.empty();
   }
 
-  private static Optional<Polygon> isPolar(Polygon polygon, GeometryFactory geometryFactory) {
+  /**
+   * Configures a reusable {@link PolarProcessor}. Processors are thread-safe and keep their configuration and per-thread buffers between calls,
+   * so one processor should be built and shared rather than built per call.
+   */
+  public static final class Builder {
 
-    polygon = preSplitTranslatePolygon(polygon, geometryFactory, isArctic(polygon));
+    private GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    private PolarRounding rounding = PolarRounding.DEFAULT;
+    private PoleSelection poleSelection = PoleSelection.NEAREST;
+    private PolarMetrics metrics = PolarMetrics.NONE;
+    private double simplifyTolerance;
+    private double densifyTolerance;
+    private ForkJoinPool forkJoinPool;
+    private int parallelThreshold = PolarParallelism.DEFAULT_THRESHOLD;
 
-    Set<Coordinate> crossings = new HashSet<>();
-    LineString mask = geometryFactory.createLineString(new Coordinate[]{new Coordinate(0D, 0D), new Coordinate(0D, 360D)});
-    Point origin = geometryFactory.createPoint(new Coordinate(0D, 0D));
+    private Builder() {
 
-    LineString ext = polygon.getExteriorRing();
-    for (int i = 0; i < ext.getNumPoints(); i++) {
-      Coordinate c = shiftCoordinate(ext.getCoordinateN(i));
-      if (c.getX() == 0D && c.getY() == 0D) {
-        return Optional.empty();  //If polygon contains the pole, it should already be split.
-      }
-      if (i == 0) {
-        continue;
-      }
-      Coordinate c1 = shiftCoordinate(ext.getCoordinateN(i - 1));
-      LineString segment = geometryFactory.createLineString(new Coordinate[]{c1, c});
-      if(segment.intersects(origin)) {
-        return Optional.empty();  //If polygon contains the pole, it should already be split.
-      }
-      Geometry crossing = segment.intersection(mask);
-      if(crossing instanceof Point) {
-        crossings.add(crossing.getCoordinate());
-      }
+    }
 
+    /**
+     * Sets the {@link GeometryFactory} split geometries are created with. Defaults to a floating precision factory with SRID 4326.
+     * @param geometryFactory {@link GeometryFactory}
+     * @return this {@link Builder}
+     */
+    public Builder geometryFactory(GeometryFactory geometryFactory) {
+      this.geometryFactory = Objects.requireNonNull(geometryFactory, "geometryFactory must not be null");
+      return this;
     }
-    if (crossings.size() % 2 == 1) {
-      return Optional.of(polygon);
+
+    /**
+     * Sets the number of decimal places translated coordinates are rounded to, rounding half up. Defaults to 11.
+     * @param precision number of decimal places, from 0 to 15
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public Builder precision(int precision) {
+      this.rounding = PolarRounding.decimalPlaces(precision);
+      return this;
+    }
+
+    /**
+     * Rounds translated coordinates with a {@link PrecisionModel} instead of to a number of decimal places
+     * @param precisionModel {@link PrecisionModel}
+     * @return this {@link Builder}
+     */
+    public Builder precisionModel(PrecisionModel precisionModel) {
+      this.rounding = PolarRounding.precisionModel(precisionModel);
+      return this;
+    }
+
+    /**
+     * Sets how the pole polygons are split around is chosen. Defaults to {@link PoleSelection#NEAREST}.
+     * @param poleSelection {@link PoleSelection}
+     * @return this {@link Builder}
+     */
+    public Builder poleSelection(PoleSelection poleSelection) {
+      this.poleSelection = Objects.requireNonNull(poleSelection, "poleSelection must not be null");
+      return this;
+    }
+
+    /**
+     * Sets the {@link PolarMetrics} stage timings and counts are reported to. Defaults to {@link PolarMetrics#NONE}, which records nothing.
+     * @param metrics {@link PolarMetrics}
+     * @return this {@link Builder}
+     */
+    public Builder metrics(PolarMetrics metrics) {
+      this.metrics = Objects.requireNonNull(metrics, "metrics must not be null");
+      return this;
+    }
+
+    /**
+     * Simplifies the rings of polygons that are split with Douglas-Peucker in the translated plane, where edges are straight, before they
+     * are split. Defaults to 0, which does not simplify.
+     * @param tolerance maximum distance, in degrees from the pole, a removed vertex may lie from the simplified ring
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if tolerance is negative or not finite
+     */
+    public Builder simplify(double tolerance) {
+      PolarGeneralizer.checkTolerance(tolerance, "tolerance");
+      this.simplifyTolerance = tolerance;
+      return this;
+    }
+
+    /**
+     * Densifies split polygons as they are translated back to longitude and latitude. Vertices are added only where a straight edge in
+     * longitude and latitude would stray from the edge in the translated plane by more than the tolerance, so polygons do not need to be
+     * densified before they are split. Defaults to 0, which does not densify.
+     * @param tolerance maximum distance, in degrees of longitude and latitude, between a split edge and the straight edge it is drawn as
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if tolerance is negative or not finite
+     */
+    public Builder densify(double tolerance) {
+      PolarGeneralizer.checkTolerance(tolerance, "tolerance");
+      this.densifyTolerance = tolerance;
+      return this;
+    }
+
+    /**
+     * Splits very large polygons on a {@link ForkJoinPool}, with the vertices of each ring translated and checked for the pole in parallel
+     * chunks. The chunks are merged in order, so the result is identical to splitting sequentially. Tracing the cut pieces of a ring
+     * is still sequential. Defaults to null, which splits every polygon on the calling thread.
+     * @param forkJoinPool {@link ForkJoinPool} to split very large polygons on, or null to split sequentially
+     * @return this {@link Builder}
+     */
+    public Builder forkJoinPool(ForkJoinPool forkJoinPool) {
+      this.forkJoinPool = forkJoinPool;
+      return this;
+    }
+
+    /**
+     * Sets the number of vertices a polygon needs before it is split on the {@link #forkJoinPool(ForkJoinPool)}. Smaller polygons are split
+     * faster on the calling thread. Defaults to 65536.
+     * @param vertices number of vertices
+     * @return this {@link Builder}
+     * @throws IllegalArgumentException if vertices is less than 1
+     */
+    public Builder parallelThreshold(int vertices) {
+      this.parallelThreshold = PolarParallelism.checkPositive(vertices, "vertices");
+      return this;
+    }
+
+    /**
+     * Creates a {@link PolarProcessor} with this configuration
+     * @return {@link PolarProcessor}
+     */
+    public PolarProcessor build() {
+      return new PolarProcessor(this);
     }
-    return Optional.empty();
   }
 
 }
-
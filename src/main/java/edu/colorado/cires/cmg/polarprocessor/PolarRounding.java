@@ -0,0 +1,65 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Objects;
+import org.locationtech.jts.geom.PrecisionModel;
+
+/**
+ * Rounds translated ordinates, either to a number of decimal places or with a JTS {@link PrecisionModel}
+ */
+final class PolarRounding {
+
+  /**
+   * Rounds to {@link PolarMath#PRECISION} decimal places
+   */
+  static final PolarRounding DEFAULT = new PolarRounding(PolarMath.PRECISION, null);
+
+  private final int precision;
+  private final PrecisionModel precisionModel;
+
+  private PolarRounding(int precision, PrecisionModel precisionModel) {
+    this.precision = precision;
+    this.precisionModel = precisionModel;
+  }
+
+  /**
+   * Creates a rounding to a number of decimal places using {@link java.math.RoundingMode#HALF_UP}
+   * @param precision number of decimal places, from 0 to {@link PolarMath#MAX_PRECISION}
+   * @return {@link PolarRounding}
+   */
+  static PolarRounding decimalPlaces(int precision) {
+    if (precision < 0 || precision > PolarMath.MAX_PRECISION) {
+      throw new IllegalArgumentException("precision must be between 0 and " + PolarMath.MAX_PRECISION + ": " + precision);
+    }
+    return precision == PolarMath.PRECISION ? DEFAULT : new PolarRounding(precision, null);
+  }
+
+  /**
+   * Creates a rounding that makes ordinates precise with a {@link PrecisionModel}
+   * @param precisionModel {@link PrecisionModel} to round with
+   * @return {@link PolarRounding}
+   */
+  static PolarRounding precisionModel(PrecisionModel precisionModel) {
+    return new PolarRounding(0, Objects.requireNonNull(precisionModel, "precisionModel must not be null"));
+  }
+
+  /**
+   * Rounds a translated ordinate
+   * @param value value to round
+   * @return rounded value
+   */
+  double round(double value) {
+    return precisionModel == null ? PolarMath.round(value, precision) : precisionModel.makePrecise(value);
+  }
+
+  /**
+   * Determines if this rounding is at least as fine as {@link #DEFAULT}. {@link PolarPrefilter} is only exact for such roundings.
+   * @return true if ordinates are rounded to at least {@link PolarMath#PRECISION} decimal places
+   */
+  boolean isFine() {
+    if (precisionModel == null) {
+      return precision >= PolarMath.PRECISION;
+    }
+    return precisionModel.isFloating() || precisionModel.getScale() >= 1e11;
+  }
+
+}
@@ -0,0 +1,230 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Caches the results of splitting geometries so that repeated requests for the same geometry are not split again.
+ * <p>
+ * Entries are keyed by the SRID, structure and coordinates of the input geometry, and the least recently used entries are evicted once the
+ * vertices of the cached inputs and results exceed the maximum. The cache is divided into segments that are locked independently, so
+ * concurrent lookups do not contend on a single lock. A geometry that is requested by several threads at once before it is cached may be
+ * split more than once. Geometries too large to fit in a segment are split but not cached.
+ * <p>
+ * The cache keeps a reference to each input geometry rather than a copy of its coordinates. Input geometries must not be modified while
+ * they are cached, and cached results are shared between callers and must not be modified.
+ */
+public final class PolarSplitCache {
+
+  private static final int MAX_SEGMENTS = 16;
+  private static final int MIN_SEGMENT_VERTICES = 1 << 12;
+
+  private final PolarProcessor processor;
+  private final Segment[] segments;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final LongAdder evictionCount = new LongAdder();
+
+  /**
+   * Creates a cache around a {@link PolarProcessor} with the default configuration
+   * @param maximumVertices maximum number of vertices of the cached input geometries and results together
+   */
+  public PolarSplitCache(long maximumVertices) {
+    this(new PolarProcessor(), maximumVertices);
+  }
+
+  /**
+   * Creates a cache around a {@link PolarProcessor}
+   * @param processor {@link PolarProcessor} to split geometries that are not cached with
+   * @param maximumVertices maximum number of vertices of the cached input geometries and results together
+   */
+  public PolarSplitCache(PolarProcessor processor, long maximumVertices) {
+    this.processor = Objects.requireNonNull(processor, "processor must not be null");
+    if (maximumVertices < 1) {
+      throw new IllegalArgumentException("maximumVertices must be greater than 0: " + maximumVertices);
+    }
+    int count = 1;
+    while (count < MAX_SEGMENTS && count * 2L * MIN_SEGMENT_VERTICES <= maximumVertices) {
+      count *= 2;
+    }
+    segments = new Segment[count];
+    for (int n = 0; n < count; n++) {
+      segments[n] = new Segment(maximumVertices / count + (n < maximumVertices % count ? 1 : 0));
+    }
+  }
+
+  /**
+   * Splits JTS geometries across the meridian and anti-meridian near the Earth’s poles, returning the cached result if the same geometry has
+   * been split before
+   * @param geometry {@link Geometry} to split
+   * @return {@link Geometry} if splitting the {@link Geometry} produces results different from the original {@link Geometry}
+   */
+  public Optional<Geometry> split(Geometry geometry) {
+    GeometryKey key = GeometryKey.of(geometry);
+    Segment segment = segment(key);
+    Optional<Geometry> split = segment.get(key);
+    if (split != null) {
+      hitCount.increment();
+      return split;
+    }
+    missCount.increment();
+    split = processor.split(geometry);
+    segment.put(key, split);
+    return split;
+  }
+
+  /**
+   * Returns the number of cached results
+   * @return number of cached results
+   */
+  public long size() {
+    long size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of vertices of the cached input geometries and results together
+   * @return number of cached vertices
+   */
+  public long vertexCount() {
+    long vertices = 0;
+    for (Segment segment : segments) {
+      vertices += segment.vertexCount();
+    }
+    return vertices;
+  }
+
+  /**
+   * Removes all cached results. The statistics are kept.
+   */
+  public void invalidateAll() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns a snapshot of the cache statistics
+   * @return {@link Stats}
+   */
+  public Stats getStats() {
+    return new Stats(hitCount.sum(), missCount.sum(), evictionCount.sum());
+  }
+
+  private Segment segment(GeometryKey key) {
+    int hash = key.hashCode();
+    return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+  }
+
+  private static long vertices(GeometryKey key, Optional<Geometry> split) {
+    return key.getNumPoints() + (long) split.map(Geometry::getNumPoints).orElse(0);
+  }
+
+  private final class Segment {
+
+    private final long maximumVertices;
+    private final LinkedHashMap<GeometryKey, Optional<Geometry>> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long vertices;
+
+    private Segment(long maximumVertices) {
+      this.maximumVertices = maximumVertices;
+    }
+
+    private synchronized Optional<Geometry> get(GeometryKey key) {
+      return entries.get(key);
+    }
+
+    private synchronized void put(GeometryKey key, Optional<Geometry> split) {
+      long added = vertices(key, split);
+      if (added > maximumVertices) {
+        return;
+      }
+      Optional<Geometry> previous = entries.put(key, split);
+      vertices += added - (previous == null ? 0L : vertices(key, previous));
+      // the iteration order of an access ordered map starts with the least recently used entry
+      Iterator<Map.Entry<GeometryKey, Optional<Geometry>>> eldest = entries.entrySet().iterator();
+      while (vertices > maximumVertices) {
+        Map.Entry<GeometryKey, Optional<Geometry>> entry = eldest.next();
+        vertices -= vertices(entry.getKey(), entry.getValue());
+        eldest.remove();
+        evictionCount.increment();
+      }
+    }
+
+    private synchronized int size() {
+      return entries.size();
+    }
+
+    private synchronized long vertexCount() {
+      return vertices;
+    }
+
+    private synchronized void clear() {
+      entries.clear();
+      vertices = 0L;
+    }
+  }
+
+  /**
+   * A snapshot of the hit, miss and eviction counts of a {@link PolarSplitCache}
+   */
+  public static final class Stats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+
+    private Stats(long hitCount, long missCount, long evictionCount) {
+      this.hitCount = hitCount;
+      this.missCount = missCount;
+      this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the number of lookups that returned a cached result
+     * @return number of hits
+     */
+    public long getHitCount() {
+      return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups that split the geometry
+     * @return number of misses
+     */
+    public long getMissCount() {
+      return missCount;
+    }
+
+    /**
+     * Returns the number of results evicted to stay within the maximum size
+     * @return number of evictions
+     */
+    public long getEvictionCount() {
+      return evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that returned a cached result
+     * @return hit rate, or 0 if there have been no lookups
+     */
+    public double getHitRate() {
+      long total = hitCount + missCount;
+      return total == 0 ? 0D : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+      return "Stats{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + '}';
+    }
+  }
+
+}
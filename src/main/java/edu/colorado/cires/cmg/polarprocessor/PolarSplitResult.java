@@ -0,0 +1,72 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Objects;
+import java.util.Optional;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * The result of splitting a single {@link Polygon} within a batch
+ */
+public final class PolarSplitResult {
+
+  private final long index;
+  private final Polygon polygon;
+  private final Optional<Geometry> split;
+
+  PolarSplitResult(long index, Polygon polygon, Optional<Geometry> split) {
+    this.index = index;
+    this.polygon = polygon;
+    this.split = Objects.requireNonNull(split, "split must not be null");
+  }
+
+  /**
+   * Returns the zero-based position of the input {@link Polygon} within the batch
+   * @return the input position
+   */
+  public long getIndex() {
+    return index;
+  }
+
+  /**
+   * Returns the input {@link Polygon}
+   * @return the input {@link Polygon}
+   */
+  public Polygon getPolygon() {
+    return polygon;
+  }
+
+  /**
+   * Returns the split {@link Geometry}
+   * @return {@link Geometry} if splitting the {@link Polygon} produced results different from the original {@link Polygon}
+   */
+  public Optional<Geometry> getSplit() {
+    return split;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    PolarSplitResult that = (PolarSplitResult) o;
+    return index == that.index && Objects.equals(polygon, that.polygon) && Objects.equals(split, that.split);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(index, polygon, split);
+  }
+
+  @Override
+  public String toString() {
+    return "PolarSplitResult{" +
+        "index=" + index +
+        ", polygon=" + polygon +
+        ", split=" + split +
+        '}';
+  }
+}
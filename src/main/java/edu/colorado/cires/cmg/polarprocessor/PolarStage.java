@@ -0,0 +1,23 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+/**
+ * Stages of splitting a geometry that are reported to {@link PolarMetrics}
+ */
+public enum PolarStage {
+  /**
+   * Checking the envelope and longitudes of a polygon to rule out splitting without translating it
+   */
+  PREFILTER,
+  /**
+   * Translating the exterior ring of a polygon and checking if it surrounds the pole
+   */
+  DETECTION,
+  /**
+   * Cutting the translated rings of a polygon across the anti-meridian, or splitting a track
+   */
+  SPLIT,
+  /**
+   * Translating the rings of a polygon to and from the plane around the pole and inserting the polar vertices
+   */
+  TRANSLATION
+}
@@ -0,0 +1,336 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Splits tracks across the anti-meridian and the Earth’s poles in a single pass. Coordinates are added one at a time and the split parts are
+ * emitted to a {@link Sink} as the track is walked, so tracks of any length can be split without building intermediate geometries. At most
+ * one vertex is held back, until the segment leaving it is known.
+ * <p>
+ * Segments with both ends on the same side of the equator and at least {@link #POLAR_LATITUDE} degrees from it are treated as straight lines
+ * in the polar plane used for splitting polygons, projected about that pole. Other segments are treated as straight lines in longitude and
+ * latitude. A segment that crosses the anti-meridian ends the current part at longitude 180 or -180 and starts a new part on the other side.
+ * A polar segment that passes through the pole, or a vertex that lies on one, ends the current part at the pole on the incoming meridian and
+ * starts a new part at the pole on the outgoing meridian. Vertices on the anti-meridian are given the sign of the side they are reached from.
+ * </p>
+ * Instances are not thread-safe.
+ */
+public final class PolarTrackSplitter {
+
+  /**
+   * Latitude, in degrees from the equator, beyond which segments are treated as straight lines in the polar plane
+   */
+  static final double POLAR_LATITUDE = 45D;
+
+  /**
+   * Receives the parts of split tracks
+   */
+  public interface Sink {
+
+    /**
+     * Receives the next vertex of the current part
+     * @param lon longitude
+     * @param lat latitude
+     * @param z z ordinate, or {@link Double#NaN} if the track has none
+     */
+    void vertex(double lon, double lat, double z);
+
+    /**
+     * Ends the current part. The next vertex, if any, starts a new part.
+     */
+    void endPart();
+  }
+
+  private final Sink sink;
+  private final PolarRounding rounding;
+
+  private boolean pending;
+  private double pendingLon;
+  private double pendingLat;
+  private double pendingZ;
+  private int partSize;
+  private double lastLon;
+  private boolean changed;
+
+  /**
+   * Creates a splitter
+   * @param sink {@link Sink} to emit split parts to
+   */
+  public PolarTrackSplitter(Sink sink) {
+    this(sink, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Creates a splitter
+   * @param sink {@link Sink} to emit split parts to
+   * @param rounding {@link PolarRounding} for the latitudes of anti-meridian crossings
+   */
+  PolarTrackSplitter(Sink sink, PolarRounding rounding) {
+    this.sink = sink;
+    this.rounding = rounding;
+  }
+
+  /**
+   * Adds the next vertex of the current track
+   * @param lon longitude
+   * @param lat latitude
+   */
+  public void add(double lon, double lat) {
+    add(lon, lat, Double.NaN);
+  }
+
+  /**
+   * Adds the next vertex of the current track
+   * @param lon longitude
+   * @param lat latitude
+   * @param z z ordinate, or {@link Double#NaN} if the track has none
+   */
+  public void add(double lon, double lat, double z) {
+    if (!pending) {
+      hold(lon, lat, z);
+      return;
+    }
+    if (isPole(pendingLat)) {
+      if (isPole(lat)) {
+        changed = true;
+        return;
+      }
+      double in = partSize > 0 ? lastLon : lon;
+      changed |= in != pendingLon;
+      emit(in, pendingLat, pendingZ);
+      if (in != lon) {
+        endPart();
+        emit(lon, pendingLat, pendingZ);
+      }
+      hold(lon, lat, z);
+      return;
+    }
+    if (isSeam(pendingLon)) {
+      if (partSize > 0) {
+        moveSeam(lastLon);
+      } else if (lon != 0D && !isSeam(lon)) {
+        moveSeam(lon);
+      }
+    }
+    emit(pendingLon, pendingLat, pendingZ);
+    if (!isPole(lat)) {
+      double delta = Math.abs(pendingLon - lon);
+      boolean polar = isPolar(pendingLat, lat);
+      if (delta == 180D && polar) {
+        crossPole(lon, lat, z);
+      } else if (delta > 180D && !isSeam(lon)) {
+        if (isSeam(pendingLon)) {
+          endPart();
+          emit(-pendingLon, pendingLat, pendingZ);
+        } else if (polar) {
+          crossAntiMeridian(lon, lat, z);
+        } else {
+          crossAntiMeridianLinear(lon, lat, z);
+        }
+      }
+    }
+    hold(lon, lat, z);
+  }
+
+  /**
+   * Ends the current track, emitting its last vertex and ending its last part. The next vertex added starts a new track.
+   * @return true if the track was split or any of its vertices were added, removed or moved
+   */
+  public boolean end() {
+    if (pending) {
+      if (isPole(pendingLat) && partSize > 0) {
+        changed |= lastLon != pendingLon;
+        pendingLon = lastLon;
+      } else if (isSeam(pendingLon) && partSize > 0) {
+        moveSeam(lastLon);
+      }
+      emit(pendingLon, pendingLat, pendingZ);
+    }
+    if (partSize > 0) {
+      sink.endPart();
+    }
+    boolean result = changed;
+    pending = false;
+    partSize = 0;
+    changed = false;
+    return result;
+  }
+
+  private void crossPole(double lon, double lat, double z) {
+    boolean arctic = pendingLat > 0D;
+    double from = distance(pendingLat, arctic);
+    double to = distance(lat, arctic);
+    double poleZ = pendingZ + from / (from + to) * (z - pendingZ);
+    double poleLat = arctic ? 90D : -90D;
+    emit(pendingLon, poleLat, poleZ);
+    endPart();
+    emit(lon, poleLat, poleZ);
+  }
+
+  private void crossAntiMeridian(double lon, double lat, double z) {
+    boolean arctic = pendingLat > 0D;
+    double fromDistance = distance(pendingLat, arctic);
+    double toDistance = distance(lat, arctic);
+    double fromRadians = Math.toRadians(pendingLon);
+    double toRadians = Math.toRadians(lon);
+    double fromX = -fromDistance * Math.sin(fromRadians);
+    double fromY = fromDistance * Math.cos(fromRadians);
+    double toX = -toDistance * Math.sin(toRadians);
+    double toY = toDistance * Math.cos(toRadians);
+    double t = fromX / (fromX - toX);
+    double y = Math.min(fromY + t * (toY - fromY), 0D);
+    double crossingLat = rounding.round(arctic ? 90D + y : -90D - y);
+    double crossingZ = pendingZ + t * (z - pendingZ);
+    double side = side(pendingLon);
+    emit(side, crossingLat, crossingZ);
+    endPart();
+    emit(-side, crossingLat, crossingZ);
+  }
+
+  /**
+   * Crosses the anti-meridian with the latitude interpolated along a straight line in longitude and latitude
+   */
+  private void crossAntiMeridianLinear(double lon, double lat, double z) {
+    double fromDistance = 180D - Math.abs(pendingLon);
+    double toDistance = 180D - Math.abs(lon);
+    double t = fromDistance / (fromDistance + toDistance);
+    double crossingLat = rounding.round(pendingLat + t * (lat - pendingLat));
+    double crossingZ = pendingZ + t * (z - pendingZ);
+    double side = side(pendingLon);
+    emit(side, crossingLat, crossingZ);
+    endPart();
+    emit(-side, crossingLat, crossingZ);
+  }
+
+  private void moveSeam(double towards) {
+    double lon = side(towards);
+    changed |= lon != pendingLon;
+    pendingLon = lon;
+  }
+
+  private void hold(double lon, double lat, double z) {
+    pending = true;
+    pendingLon = lon;
+    pendingLat = lat;
+    pendingZ = z;
+  }
+
+  private void emit(double lon, double lat, double z) {
+    sink.vertex(lon, lat, z);
+    lastLon = lon;
+    partSize++;
+  }
+
+  private void endPart() {
+    sink.endPart();
+    partSize = 0;
+    changed = true;
+  }
+
+  private static double distance(double lat, boolean arctic) {
+    return arctic ? 90D - lat : 90D + lat;
+  }
+
+  private static double side(double lon) {
+    return lon < 0D ? -180D : 180D;
+  }
+
+  private static boolean isPolar(double fromLat, double toLat) {
+    return (fromLat >= POLAR_LATITUDE && toLat >= POLAR_LATITUDE) || (fromLat <= -POLAR_LATITUDE && toLat <= -POLAR_LATITUDE);
+  }
+
+  private static boolean isSeam(double lon) {
+    return Math.abs(lon) == 180D;
+  }
+
+  private static boolean isPole(double lat) {
+    return Math.abs(lat) == 90D;
+  }
+
+  /**
+   * Splits a {@link LineString} across the anti-meridian and the Earth’s poles
+   * @param lineString {@link LineString} to split
+   * @param geometryFactory {@link GeometryFactory} for creating split parts
+   * @return a {@link LineString} or {@link org.locationtech.jts.geom.MultiLineString} if splitting changes the {@link LineString}
+   */
+  static Optional<Geometry> split(LineString lineString, GeometryFactory geometryFactory) {
+    return split(lineString, geometryFactory, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Splits a {@link LineString} across the anti-meridian and the Earth’s poles
+   * @param lineString {@link LineString} to split
+   * @param geometryFactory {@link GeometryFactory} for creating split parts
+   * @param rounding {@link PolarRounding} for the latitudes of anti-meridian crossings
+   * @return a {@link LineString} or {@link org.locationtech.jts.geom.MultiLineString} if splitting changes the {@link LineString}
+   */
+  static Optional<Geometry> split(LineString lineString, GeometryFactory geometryFactory, PolarRounding rounding) {
+    CoordinateSequence coordinates = lineString.getCoordinateSequence();
+    int size = coordinates.size();
+    if (size < 2) {
+      return Optional.empty();
+    }
+    boolean hasZ = coordinates.hasZ();
+    PartBuilder parts = new PartBuilder(hasZ ? 3 : 2, size);
+    PolarTrackSplitter splitter = new PolarTrackSplitter(parts, rounding);
+    for (int i = 0; i < size; i++) {
+      splitter.add(coordinates.getX(i), coordinates.getY(i), hasZ ? coordinates.getZ(i) : Double.NaN);
+    }
+    if (!splitter.end()) {
+      return Optional.empty();
+    }
+    List<LineString> lineStrings = new ArrayList<>(parts.parts.size());
+    for (double[] part : parts.parts) {
+      if (part.length >= 2 * parts.dimension) {
+        lineStrings.add(geometryFactory.createLineString(new PackedCoordinateSequence.Double(part, parts.dimension, 0)));
+      }
+    }
+    if (lineStrings.size() == 1) {
+      return Optional.of(lineStrings.get(0));
+    }
+    return Optional.of(geometryFactory.createMultiLineString(lineStrings.toArray(new LineString[0])));
+  }
+
+  /**
+   * Collects split parts into packed ordinate arrays
+   */
+  private static final class PartBuilder implements Sink {
+
+    private final int dimension;
+    private final List<double[]> parts = new ArrayList<>();
+    private double[] ordinates;
+    private int length;
+
+    private PartBuilder(int dimension, int size) {
+      this.dimension = dimension;
+      this.ordinates = new double[(size + 2) * dimension];
+    }
+
+    @Override
+    public void vertex(double lon, double lat, double z) {
+      if (length + dimension > ordinates.length) {
+        ordinates = Arrays.copyOf(ordinates, ordinates.length * 2);
+      }
+      ordinates[length++] = lon;
+      ordinates[length++] = lat;
+      if (dimension > 2) {
+        ordinates[length++] = z;
+      }
+    }
+
+    @Override
+    public void endPart() {
+      parts.add(Arrays.copyOf(ordinates, length));
+      length = 0;
+    }
+  }
+
+}
@@ -0,0 +1,133 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFilter;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Translates coordinates to or from the plane used for splitting geometries near the Earth’s poles without allocating a
+ * {@link org.locationtech.jts.geom.Coordinate} per vertex. The filter can be applied in place to a geometry with
+ * {@link org.locationtech.jts.geom.Geometry#apply(CoordinateSequenceFilter)}, or used to translate a {@link CoordinateSequence} directly into a
+ * new packed {@link CoordinateSequence}.
+ */
+public final class PolarTranslationFilter implements CoordinateSequenceFilter {
+
+  private final boolean preSplit;
+  private final boolean arctic;
+  private final PolarRounding rounding;
+
+  private PolarTranslationFilter(boolean preSplit, boolean arctic, PolarRounding rounding) {
+    this.preSplit = preSplit;
+    this.arctic = arctic;
+    this.rounding = rounding;
+  }
+
+  /**
+   * Creates a filter that translates longitude and latitude coordinates before splitting
+   * @param arctic whether the coordinates lie within arctic circle
+   * @return {@link PolarTranslationFilter}
+   */
+  public static PolarTranslationFilter preSplit(boolean arctic) {
+    return preSplit(arctic, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Creates a filter that translates longitude and latitude coordinates before splitting
+   * @param arctic whether the coordinates lie within arctic circle
+   * @param rounding {@link PolarRounding} for translated ordinates
+   * @return {@link PolarTranslationFilter}
+   */
+  static PolarTranslationFilter preSplit(boolean arctic, PolarRounding rounding) {
+    return new PolarTranslationFilter(true, arctic, rounding);
+  }
+
+  /**
+   * Creates a filter that translates split coordinates back to longitude and latitude
+   * @param arctic whether the coordinates lie within arctic circle
+   * @return {@link PolarTranslationFilter}
+   */
+  public static PolarTranslationFilter postSplit(boolean arctic) {
+    return postSplit(arctic, PolarRounding.DEFAULT);
+  }
+
+  /**
+   * Creates a filter that translates split coordinates back to longitude and latitude
+   * @param arctic whether the coordinates lie within arctic circle
+   * @param rounding {@link PolarRounding} for translated ordinates
+   * @return {@link PolarTranslationFilter}
+   */
+  static PolarTranslationFilter postSplit(boolean arctic, PolarRounding rounding) {
+    return new PolarTranslationFilter(false, arctic, rounding);
+  }
+
+  /**
+   * Translates a {@link CoordinateSequence} into a new two dimensional {@link PackedCoordinateSequence.Double}
+   * @param source {@link CoordinateSequence} to translate
+   * @return translated {@link CoordinateSequence}
+   */
+  public CoordinateSequence translate(CoordinateSequence source) {
+    return new PackedCoordinateSequence.Double(translatePacked(source), 2, 0);
+  }
+
+  /**
+   * Translates a {@link CoordinateSequence} into packed x and y ordinates
+   * @param source {@link CoordinateSequence} to translate
+   * @return translated ordinates
+   */
+  double[] translatePacked(CoordinateSequence source) {
+    double[] packed = new double[source.size() * 2];
+    translatePacked(source, packed);
+    return packed;
+  }
+
+  /**
+   * Translates a {@link CoordinateSequence} into packed x and y ordinates at the start of an existing array
+   * @param source {@link CoordinateSequence} to translate
+   * @param packed array of at least twice the size of the {@link CoordinateSequence} to translate into
+   */
+  void translatePacked(CoordinateSequence source, double[] packed) {
+    translatePacked(source, packed, 0, source.size());
+  }
+
+  /**
+   * Translates part of a {@link CoordinateSequence} into packed x and y ordinates at the same positions of an existing array
+   * @param source {@link CoordinateSequence} to translate
+   * @param packed array of at least twice the size of the {@link CoordinateSequence} to translate into
+   * @param start index of the first coordinate to translate, inclusive
+   * @param end index of the last coordinate to translate, exclusive
+   */
+  void translatePacked(CoordinateSequence source, double[] packed, int start, int end) {
+    for (int i = start; i < end; i++) {
+      double x = source.getX(i);
+      double y = source.getY(i);
+      packed[i * 2] = translateX(x, y);
+      packed[i * 2 + 1] = translateY(x, y);
+    }
+  }
+
+  private double translateX(double x, double y) {
+    return preSplit ? PolarMath.preSplitX(x, y, arctic, rounding) : PolarMath.postSplitX(x, y, rounding);
+  }
+
+  private double translateY(double x, double y) {
+    return preSplit ? PolarMath.preSplitY(x, y, arctic, rounding) : PolarMath.postSplitY(x, y, arctic, rounding);
+  }
+
+  @Override
+  public void filter(CoordinateSequence seq, int i) {
+    double x = seq.getX(i);
+    double y = seq.getY(i);
+    seq.setOrdinate(i, CoordinateSequence.X, translateX(x, y));
+    seq.setOrdinate(i, CoordinateSequence.Y, translateY(x, y));
+  }
+
+  @Override
+  public boolean isDone() {
+    return false;
+  }
+
+  @Override
+  public boolean isGeometryChanged() {
+    return true;
+  }
+}
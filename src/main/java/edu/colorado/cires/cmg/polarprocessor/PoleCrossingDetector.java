@@ -0,0 +1,220 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.locationtech.jts.algorithm.CGAlgorithmsDD;
+import org.locationtech.jts.geom.CoordinateSequence;
+
+/**
+ * Detects whether a ring surrounds a pole by counting crossings of the prime meridian in the translated plane.
+ * <p>
+ * Coordinates are translated on the fly and shifted so that the pole lies on the origin. The prime meridian is then the positive y axis. Each
+ * edge is tested against it with closed-form arithmetic and the distinct crossing ordinates are counted. A ring touching the pole has already
+ * been split and is not polar.
+ */
+final class PoleCrossingDetector {
+
+  /**
+   * Outcome of checking a ring
+   */
+  enum Detection {
+    /**
+     * The ring does not surround the pole
+     */
+    NOT_POLAR,
+    /**
+     * A vertex or edge of the ring lies on the pole
+     */
+    ON_POLE,
+    /**
+     * The ring surrounds the pole and needs to be split
+     */
+    POLAR
+  }
+
+  private PoleCrossingDetector() {
+
+  }
+
+  /**
+   * Checks if a ring surrounds a pole
+   * @param ring untranslated ring coordinates
+   * @param arctic whether the ring lies within arctic circle
+   * @return {@link Detection} for the ring
+   */
+  static Detection detect(CoordinateSequence ring, boolean arctic) {
+    int size = ring.size();
+    Crossings crossings = new Crossings();
+    for (int i = 0; i < size; i++) {
+      double lon = ring.getX(i);
+      double lat = ring.getY(i);
+      if (!crossings.add(PolarMath.shift(PolarMath.preSplitX(lon, lat, arctic)), PolarMath.preSplitY(lon, lat, arctic))) {
+        return Detection.ON_POLE;
+      }
+    }
+    return crossings.detection();
+  }
+
+  /**
+   * Checks if a translated ring surrounds a pole
+   * @param translated packed x and y translated ring coordinates
+   * @return {@link Detection} for the ring
+   */
+  static Detection detect(double[] translated) {
+    return detect(translated, translated.length);
+  }
+
+  /**
+   * Checks if a translated ring surrounds a pole
+   * @param translated packed x and y translated ring coordinates
+   * @param length number of ordinates at the start of the array that hold the ring
+   * @return {@link Detection} for the ring
+   */
+  static Detection detect(double[] translated, int length) {
+    Crossings crossings = crossings(translated, 0, length / 2);
+    return crossings == null ? Detection.ON_POLE : crossings.detection();
+  }
+
+  /**
+   * Checks if a translated ring surrounds a pole, checking chunks of its edges in parallel. Each chunk collects the crossings of its own
+   * edges and the crossings are counted together, so the result is the same as {@link #detect(double[], int)}.
+   * @param translated packed x and y translated ring coordinates
+   * @param length number of ordinates at the start of the array that hold the ring
+   * @param pool {@link ForkJoinPool} to check chunks on
+   * @param chunk number of vertices in each chunk
+   * @return {@link Detection} for the ring
+   */
+  static Detection detect(double[] translated, int length, ForkJoinPool pool, int chunk) {
+    int size = length / 2;
+    Crossings[] chunks = new Crossings[PolarChunks.count(size, chunk)];
+    if (chunks.length <= 1) {
+      return detect(translated, length);
+    }
+    PolarChunks.forEach(pool, chunks.length, 1, (start, end) -> {
+      for (int c = start; c < end; c++) {
+        chunks[c] = crossings(translated, c * chunk, Math.min(size, (c + 1) * chunk));
+      }
+    });
+    int count = 0;
+    for (Crossings crossings : chunks) {
+      if (crossings == null) {
+        return Detection.ON_POLE;
+      }
+      count += crossings.count;
+    }
+    double[] values = new double[count];
+    int offset = 0;
+    for (Crossings crossings : chunks) {
+      if (crossings.count > 0) {
+        System.arraycopy(crossings.values, 0, values, offset, crossings.count);
+        offset += crossings.count;
+      }
+    }
+    return distinct(values, count) % 2 != 0 ? Detection.POLAR : Detection.NOT_POLAR;
+  }
+
+  /**
+   * Collects the crossings of the edges ending at a range of vertices
+   * @return {@link Crossings}, or null if a vertex or edge lies on the pole
+   */
+  private static Crossings crossings(double[] translated, int start, int end) {
+    Crossings crossings = new Crossings();
+    // the edge ending at the first vertex starts at the vertex before it
+    for (int i = Math.max(0, start - 1); i < end; i++) {
+      if (!crossings.add(PolarMath.shift(translated[i * 2]), translated[i * 2 + 1])) {
+        return null;
+      }
+    }
+    return crossings;
+  }
+
+  private static boolean containsOrigin(double x0, double y0, double x1, double y1) {
+    if (Math.min(x0, x1) > 0D || Math.max(x0, x1) < 0D || Math.min(y0, y1) > 0D || Math.max(y0, y1) < 0D) {
+      return false;
+    }
+    return CGAlgorithmsDD.orientationIndex(x0, y0, x1, y1, 0D, 0D) == 0;
+  }
+
+  /**
+   * Finds the point where an edge meets the positive y axis. Edges lying along the axis do not meet it at a single point and are ignored.
+   * @return the y ordinate of the crossing, or NaN if the edge does not cross
+   */
+  private static double crossing(double x0, double y0, double x1, double y1) {
+    if (x0 == 0D && x1 == 0D) {
+      return Double.NaN;
+    }
+    if (x0 == 0D) {
+      return y0 > 0D ? y0 : Double.NaN;
+    }
+    if (x1 == 0D) {
+      return y1 > 0D ? y1 : Double.NaN;
+    }
+    if ((x0 < 0D) == (x1 < 0D)) {
+      return Double.NaN;
+    }
+    int orientation = CGAlgorithmsDD.orientationIndex(x0, y0, x1, y1, 0D, 0D);
+    if ((orientation > 0) == (x1 > x0)) {
+      return Double.NaN;
+    }
+    return (y0 * x1 - y1 * x0) / (x1 - x0);
+  }
+
+  /**
+   * Collects the crossings of the edges of a ring, shifted so that the pole lies on the origin
+   */
+  private static final class Crossings {
+
+    private double[] values;
+    private int count;
+    private boolean started;
+    private double x0;
+    private double y0;
+
+    /**
+     * Adds the next vertex of the ring
+     * @return false if the vertex or the edge ending at it lies on the pole
+     */
+    private boolean add(double x1, double y1) {
+      if (x1 == 0D && y1 == 0D) {
+        return false;
+      }
+      if (started) {
+        if (containsOrigin(x0, y0, x1, y1)) {
+          return false;
+        }
+        double crossing = crossing(x0, y0, x1, y1);
+        if (!Double.isNaN(crossing)) {
+          if (values == null) {
+            values = new double[8];
+          } else if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+          }
+          values[count++] = crossing;
+        }
+      }
+      started = true;
+      x0 = x1;
+      y0 = y1;
+      return true;
+    }
+
+    private Detection detection() {
+      return distinct(values, count) % 2 != 0 ? Detection.POLAR : Detection.NOT_POLAR;
+    }
+  }
+
+  private static int distinct(double[] values, int count) {
+    if (count < 2) {
+      return count;
+    }
+    Arrays.sort(values, 0, count);
+    int distinct = 1;
+    for (int i = 1; i < count; i++) {
+      if (values[i] != values[i - 1]) {
+        distinct++;
+      }
+    }
+    return distinct;
+  }
+
+}
@@ -0,0 +1,19 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+/**
+ * How the pole a polygon is split around is chosen
+ */
+public enum PoleSelection {
+  /**
+   * The pole nearest to the polygon’s envelope
+   */
+  NEAREST,
+  /**
+   * Always the north pole
+   */
+  ARCTIC,
+  /**
+   * Always the south pole
+   */
+  ANTARCTIC
+}
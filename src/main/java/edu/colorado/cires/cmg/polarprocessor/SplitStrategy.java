@@ -0,0 +1,15 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+/**
+ * Strategy used to split translated polygons across the anti-meridian
+ */
+public enum SplitStrategy {
+  /**
+   * Cuts rings directly in the translated plane, falling back to {@link #SPATIAL4J} for rings it cannot cut
+   */
+  NATIVE,
+  /**
+   * Uses the dateline handling of a spatial4j {@link org.locationtech.spatial4j.shape.jts.JtsGeometry}
+   */
+  SPATIAL4J
+}
@@ -0,0 +1,59 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+
+/**
+ * Reads length-prefixed WKB records one at a time. Each record is a four byte big-endian length followed by that many bytes of WKB.
+ */
+public final class WkbFeatureReader implements PolarFeatureReader {
+
+  private final DataInputStream inputStream;
+  private final WKBReader wkbReader;
+
+  /**
+   * Creates a reader for length-prefixed WKB records
+   * @param inputStream stream of records
+   * @param geometryFactory {@link GeometryFactory} for creating feature geometries
+   */
+  public WkbFeatureReader(InputStream inputStream, GeometryFactory geometryFactory) {
+    this.inputStream = new DataInputStream(inputStream instanceof BufferedInputStream || inputStream instanceof MappedFileInputStream
+        ? inputStream : new BufferedInputStream(inputStream));
+    this.wkbReader = new WKBReader(geometryFactory);
+  }
+
+  @Override
+  public PolarFeature read() throws IOException {
+    int first = inputStream.read();
+    if (first < 0) {
+      return null;
+    }
+    int length = (first << 24) | (inputStream.readUnsignedByte() << 16) | (inputStream.readUnsignedByte() << 8) | inputStream.readUnsignedByte();
+    if (length < 0) {
+      throw new IOException("Invalid WKB record length: " + length);
+    }
+    byte[] wkb = new byte[length];
+    try {
+      inputStream.readFully(wkb);
+    } catch (EOFException e) {
+      throw new EOFException("Truncated WKB record of " + length + " bytes");
+    }
+    try {
+      return new PolarFeature(wkbReader.read(wkb), wkb);
+    } catch (ParseException e) {
+      throw new IOException("Invalid WKB record", e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    inputStream.close();
+  }
+
+}
@@ -0,0 +1,53 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Writes length-prefixed WKB records one at a time. Each record is a four byte big-endian length followed by that many bytes of WKB. Features
+ * that were not split are written with the bytes they were read from.
+ */
+public final class WkbFeatureWriter implements PolarFeatureWriter {
+
+  private final DataOutputStream outputStream;
+  private final WKBWriter wkbWriter = new WKBWriter();
+
+  /**
+   * Creates a writer for length-prefixed WKB records
+   * @param outputStream stream to write records to
+   */
+  public WkbFeatureWriter(OutputStream outputStream) {
+    this.outputStream = new DataOutputStream(new BufferedOutputStream(outputStream));
+  }
+
+  @Override
+  public void write(PolarFeature feature) throws IOException {
+    byte[] wkb;
+    if (feature.getSplit().isPresent()) {
+      wkb = wkbWriter.write(feature.getSplit().get());
+    } else if (feature.getSource() instanceof byte[]) {
+      wkb = (byte[]) feature.getSource();
+    } else {
+      Geometry geometry = feature.getGeometry()
+          .orElseThrow(() -> new IOException("WKB records require a geometry"));
+      wkb = wkbWriter.write(geometry);
+    }
+    outputStream.writeInt(wkb.length);
+    outputStream.write(wkb);
+  }
+
+  @Override
+  public void flush() throws IOException {
+    outputStream.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    outputStream.close();
+  }
+
+}
@@ -0,0 +1,53 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKTReader;
+
+/**
+ * Reads newline-delimited WKT one geometry at a time. Blank lines are skipped.
+ */
+public final class WktFeatureReader implements PolarFeatureReader {
+
+  private final BufferedReader reader;
+  private final WKTReader wktReader;
+  private long lineNumber;
+
+  /**
+   * Creates a reader for newline-delimited WKT
+   * @param inputStream UTF-8 WKT, one geometry per line
+   * @param geometryFactory {@link GeometryFactory} for creating feature geometries
+   */
+  public WktFeatureReader(InputStream inputStream, GeometryFactory geometryFactory) {
+    this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+    this.wktReader = new WKTReader(geometryFactory);
+  }
+
+  @Override
+  public PolarFeature read() throws IOException {
+    String line;
+    do {
+      line = reader.readLine();
+      if (line == null) {
+        return null;
+      }
+      lineNumber++;
+    } while (line.trim().isEmpty());
+    try {
+      return new PolarFeature(wktReader.read(line), line);
+    } catch (ParseException e) {
+      throw new IOException("Invalid WKT on line " + lineNumber, e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+
+}
@@ -0,0 +1,52 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKTWriter;
+
+/**
+ * Writes newline-delimited WKT one geometry at a time. Features that were not split are written with the line they were read from.
+ */
+public final class WktFeatureWriter implements PolarFeatureWriter {
+
+  private final Writer writer;
+  private final WKTWriter wktWriter = new WKTWriter();
+
+  /**
+   * Creates a writer for newline-delimited WKT
+   * @param outputStream stream to write UTF-8 WKT to
+   */
+  public WktFeatureWriter(OutputStream outputStream) {
+    this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void write(PolarFeature feature) throws IOException {
+    if (feature.getSplit().isPresent()) {
+      wktWriter.write(feature.getSplit().get(), writer);
+    } else if (feature.getSource() instanceof String) {
+      writer.write((String) feature.getSource());
+    } else {
+      Geometry geometry = feature.getGeometry()
+          .orElseThrow(() -> new IOException("WKT lines require a geometry"));
+      wktWriter.write(geometry, writer);
+    }
+    writer.write('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    writer.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+
+}
@@ -0,0 +1,174 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.CoordinateArraySequence;
+import org.locationtech.jts.io.WKTReader;
+
+public class AntiMeridianSplitterTest {
+
+  private static final String HOLES = "POLYGON ((0 60, 90 60, 180 60, -90 60, 0 60), "
+      + "(-10 75, 10 75, 10 80, -10 80, -10 75), "
+      + "(80 75, 100 75, 100 80, 80 80, 80 75), "
+      + "(170 75, -170 75, -170 80, 170 80, 170 75))";
+
+  private static Polygon randomPolar(Random random, GeometryFactory geometryFactory) {
+    int size = 3 + random.nextInt(40);
+    double[] lons = new double[size];
+    for (int n = 0; n < size; n++) {
+      lons[n] = random.nextInt(4) == 0 ? random.nextInt(24) * 15D - 180D : random.nextDouble() * 360D - 180D;
+    }
+    Arrays.sort(lons);
+    boolean reverse = random.nextBoolean();
+    boolean arctic = random.nextBoolean();
+    Coordinate[] coordinates = new Coordinate[size + 1];
+    for (int n = 0; n < size; n++) {
+      double lat = random.nextInt(5) == 0 ? 60D : 40D + random.nextDouble() * 45D;
+      coordinates[reverse ? size - 1 - n : n] = new Coordinate(lons[n], arctic ? lat : -lat);
+    }
+    coordinates[size] = coordinates[0].copy();
+    return geometryFactory.createPolygon(coordinates);
+  }
+
+  @Test
+  public void testMatchesSpatial4j() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Random random = new Random(11);
+    int compared = 0;
+    for (int i = 0; i < 10000; i++) {
+      Polygon polygon = randomPolar(random, geometryFactory);
+      if (!polygon.isValid()) {
+        continue;
+      }
+      Optional<Polygon> translated = PolarProcessor.isPolar(polygon, geometryFactory);
+      if (!translated.isPresent()) {
+        continue;
+      }
+      Geometry expected;
+      try {
+        expected = PolarProcessor.split180(translated.get(), SplitStrategy.SPATIAL4J);
+      } catch (RuntimeException | AssertionError e) {
+        // spatial4j cannot split every ring
+        continue;
+      }
+      // spatial4j leaves stray line strings where a ring runs along the anti-meridian
+      if (expected instanceof GeometryCollection && !(expected instanceof MultiPolygon)) {
+        continue;
+      }
+      Geometry actual = AntiMeridianSplitter.split(translated.get()).get();
+      assertTrue(expected.equalsExact(actual, 1e-9), polygon + " expected: " + expected + " but was: " + actual);
+      compared++;
+    }
+    assertTrue(compared > 500);
+  }
+
+  @Test
+  public void testSplitHoles() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Polygon translated = PolarProcessor.isPolar((Polygon) wktReader.read(HOLES), geometryFactory).get();
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.split180(translated, SplitStrategy.SPATIAL4J));
+    Geometry result = PolarProcessor.split180(translated, SplitStrategy.NATIVE);
+    String expected = "MULTIPOLYGON (((-180 -30, -180 -14.77211629518, -177.395277335 -14.77211629518, -178.26351822333 -9.84807753012, "
+        + "-180 -9.84807753012, -180 9.84807753012, -178.26351822333 9.84807753012, -177.395277335 14.77211629518, -180 14.77211629518, "
+        + "-180 30, -150 0, -180 -30)), "
+        + "((180 30, 180 14.77211629518, 177.395277335 14.77211629518, 178.26351822333 9.84807753012, 180 9.84807753012, "
+        + "180 -9.84807753012, 178.26351822333 -9.84807753012, 177.395277335 -14.77211629518, 180 -14.77211629518, 180 -30, 150 0, 180 30), "
+        + "(165.22788370482 2.604722665, 165.22788370482 -2.604722665, 170.15192246988 -1.73648177667, 170.15192246988 1.73648177667, "
+        + "165.22788370482 2.604722665)))";
+    assertEquals(expected, result.toString());
+    assertTrue(result.isValid());
+  }
+
+  @Test
+  public void testSplitPolarHoles() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Geometry result = PolarProcessor.splitPolar((Polygon) wktReader.read(HOLES), geometryFactory).get();
+    assertEquals(2, result.getNumGeometries());
+    assertEquals(0, ((Polygon) result.getGeometryN(0)).getNumInteriorRing());
+    assertEquals(1, ((Polygon) result.getGeometryN(1)).getNumInteriorRing());
+  }
+
+  /**
+   * A ring around the north pole that steps back and forth across the cut, so each side is split into several pieces, with rows of holes
+   * between the steps and the pole
+   */
+  private static double[][] steppedRings(Random random) {
+    List<Coordinate> shell = new ArrayList<>();
+    double lat = 50D;
+    shell.add(new Coordinate(-30D, lat));
+    for (int step = 0; step < 3 + random.nextInt(4) * 2; step++) {
+      shell.add(new Coordinate(step % 2 == 0 ? 5D + random.nextInt(10) : -5D - random.nextInt(10), lat));
+      lat += 3D + random.nextInt(3);
+      shell.add(new Coordinate(shell.get(shell.size() - 1).x, lat));
+    }
+    for (int lon = 30; lon < 330; lon += 30) {
+      shell.add(new Coordinate(lon > 180 ? lon - 360D : lon, lat));
+    }
+    shell.add(new Coordinate(-30D, lat));
+    shell.add(new Coordinate(-30D, 50D));
+    List<CoordinateSequence> rings = new ArrayList<>();
+    rings.add(new CoordinateArraySequence(shell.toArray(new Coordinate[0])));
+    double bottom = lat + 1D;
+    double top = Math.min(89.5, lat + 2D);
+    for (int lon = -180; lon < 180; lon += 5) {
+      if (random.nextInt(3) != 0) {
+        rings.add(new CoordinateArraySequence(new Coordinate[]{new Coordinate(lon + 1D, bottom), new Coordinate(lon + 4D, bottom),
+            new Coordinate(lon + 4D, top), new Coordinate(lon + 1D, top), new Coordinate(lon + 1D, bottom)}));
+      }
+    }
+    PolarTranslationFilter filter = PolarTranslationFilter.preSplit(true);
+    double[][] translated = new double[rings.size()][];
+    for (int r = 0; r < translated.length; r++) {
+      translated[r] = filter.translatePacked(rings.get(r));
+    }
+    return translated;
+  }
+
+  @Test
+  public void testIndexedHoles() throws Exception {
+    Random random = new Random(3);
+    int indexed = 0;
+    for (int i = 0; i < 300; i++) {
+      double[][] rings = steppedRings(random);
+      List<double[][]> expected = AntiMeridianSplitter.split(rings, Integer.MAX_VALUE);
+      List<double[][]> actual = AntiMeridianSplitter.split(rings, 0);
+      if (expected == null) {
+        assertNull(actual);
+        continue;
+      }
+      assertEquals(expected.size(), actual.size());
+      for (int n = 0; n < expected.size(); n++) {
+        assertTrue(Arrays.deepEquals(expected.get(n), actual.get(n)));
+      }
+      int holes = 0;
+      for (double[][] piece : actual) {
+        holes += piece.length - 1;
+      }
+      assertTrue(holes > 0);
+      if (actual.size() > 2) {
+        indexed++;
+      }
+    }
+    assertTrue(indexed > 200);
+  }
+
+}
@@ -0,0 +1,267 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarAsyncProcessorTest {
+
+  private static final GeometryFactory GEOMETRY_FACTORY = new GeometryFactory(new PrecisionModel(), 4326);
+
+  /**
+   * Runs tasks only when asked to, in the order they were started
+   */
+  private static final class ManualExecutor implements Executor {
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+    @Override
+    public void execute(Runnable command) {
+      tasks.add(command);
+    }
+
+    private void runNext() {
+      tasks.removeFirst().run();
+    }
+  }
+
+  private static Polygon polygon(int vertices, double lat) {
+    Coordinate[] coordinates = new Coordinate[vertices + 1];
+    for (int n = 0; n < vertices; n++) {
+      coordinates[n] = new Coordinate(-180D + n * 360D / vertices, lat);
+    }
+    coordinates[vertices] = coordinates[0].copy();
+    return GEOMETRY_FACTORY.createPolygon(coordinates);
+  }
+
+  private static List<Polygon> polygons() throws Exception {
+    WKTReader wktReader = new WKTReader(GEOMETRY_FACTORY);
+    List<Polygon> polygons = new ArrayList<>();
+    for (int n = 0; n < 200; n++) {
+      if (n % 2 == 0) {
+        polygons.add((Polygon) wktReader.read("POLYGON ((180 70, 100 60, 45 50, -30 " + (50 + n / 10D) + ", -90 70, 180 70))"));
+      } else {
+        polygons.add(polygon(4 + n * 20, -70D));
+      }
+    }
+    return polygons;
+  }
+
+  @Test
+  public void testFutures() throws Exception {
+    List<Polygon> polygons = polygons();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(3).maxInFlight(polygons.size()).build();
+      List<CompletableFuture<Optional<Geometry>>> futures = new ArrayList<>();
+      for (Polygon polygon : polygons) {
+        futures.add(processor.split(polygon));
+      }
+      for (int n = 0; n < polygons.size(); n++) {
+        assertEquals(PolarProcessor.splitPolar(polygons.get(n), GEOMETRY_FACTORY), futures.get(n).get(10, TimeUnit.SECONDS));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testMaxInFlightAndCancel() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(1).maxInFlight(2).build();
+    CompletableFuture<Optional<Geometry>> first = processor.split(polygon(4, 70D));
+    CompletableFuture<Optional<Geometry>> second = processor.split(polygon(4, 70D));
+    CompletableFuture<Optional<Geometry>> rejected = processor.split(polygon(4, 70D));
+    ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+    assertTrue(e.getCause() instanceof RejectedExecutionException);
+    assertTrue(second.cancel(false));
+    CompletableFuture<Optional<Geometry>> third = processor.split(polygon(4, 70D));
+    assertEquals(1, executor.tasks.size());
+    executor.runNext();
+    assertTrue(first.isDone());
+    executor.runNext();
+    assertTrue(third.isDone());
+    assertTrue(executor.tasks.isEmpty());
+  }
+
+  @Test
+  public void testLightFirst() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(1).build();
+    List<String> order = Collections.synchronizedList(new ArrayList<>());
+    processor.split(polygon(4, 70D)).thenRun(() -> order.add("first"));
+    processor.split(polygon(PolarAsyncProcessor.VERTICES_PER_POSITION * 10, 70D)).thenRun(() -> order.add("heavy"));
+    for (int n = 0; n < 12; n++) {
+      String name = "light" + n;
+      processor.split(polygon(4, 70D)).thenRun(() -> order.add(name));
+    }
+    while (!executor.tasks.isEmpty()) {
+      executor.runNext();
+    }
+    // the heavy polygon is queued as if it had been submitted ten positions later, ahead of light9 which was submitted there
+    List<String> expected = new ArrayList<>(Arrays.asList("first"));
+    for (int n = 0; n < 9; n++) {
+      expected.add("light" + n);
+    }
+    expected.addAll(Arrays.asList("heavy", "light9", "light10", "light11"));
+    assertEquals(expected, order);
+  }
+
+  @Test
+  public void testHeavyConcurrency() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(2).heavyVertices(100).build();
+    CompletableFuture<Optional<Geometry>> heavy1 = processor.split(polygon(200, 70D));
+    CompletableFuture<Optional<Geometry>> heavy2 = processor.split(polygon(200, 70D));
+    CompletableFuture<Optional<Geometry>> light = processor.split(polygon(4, 70D));
+    // the second heavy polygon may not take the last slot, the light polygon does
+    assertEquals(2, executor.tasks.size());
+    executor.runNext();
+    executor.runNext();
+    assertTrue(heavy1.isDone());
+    assertTrue(light.isDone());
+    assertFalse(heavy2.isDone());
+    executor.runNext();
+    assertTrue(heavy2.isDone());
+  }
+
+  @Test
+  public void testPublisher() throws Exception {
+    List<Polygon> polygons = polygons();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(3).maxInFlight(8).build();
+      List<PolarSplitResult> results = Collections.synchronizedList(new ArrayList<>());
+      CountDownLatch done = new CountDownLatch(1);
+      try (SubmissionPublisher<Polygon> publisher = new SubmissionPublisher<>(executor, 4)) {
+        processor.split(publisher).subscribe(new Flow.Subscriber<PolarSplitResult>() {
+          private Flow.Subscription subscription;
+
+          @Override
+          public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+          }
+
+          @Override
+          public void onNext(PolarSplitResult item) {
+            results.add(item);
+            subscription.request(1);
+          }
+
+          @Override
+          public void onError(Throwable throwable) {
+            done.countDown();
+          }
+
+          @Override
+          public void onComplete() {
+            done.countDown();
+          }
+        });
+        for (Polygon polygon : polygons) {
+          publisher.submit(polygon);
+        }
+      }
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+      assertEquals(polygons.size(), results.size());
+      for (PolarSplitResult result : results) {
+        Polygon polygon = polygons.get((int) result.getIndex());
+        assertEquals(new PolarSplitResult(result.getIndex(), polygon, PolarProcessor.splitPolar(polygon, GEOMETRY_FACTORY)), result);
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCancelSubscription() throws Exception {
+    ManualExecutor executor = new ManualExecutor();
+    PolarAsyncProcessor processor = PolarAsyncProcessor.builder().executor(executor).concurrency(1).maxInFlight(4).build();
+    AtomicBoolean publisherCancelled = new AtomicBoolean();
+    List<Long> requests = new ArrayList<>();
+    Flow.Processor<Polygon, PolarSplitResult> flowProcessor = processor.processor();
+    flowProcessor.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        requests.add(n);
+      }
+
+      @Override
+      public void cancel() {
+        publisherCancelled.set(true);
+      }
+    });
+    assertEquals(Collections.singletonList(4L), requests);
+    List<PolarSplitResult> results = new ArrayList<>();
+    List<Flow.Subscription> subscriptions = new ArrayList<>();
+    flowProcessor.subscribe(new Flow.Subscriber<PolarSplitResult>() {
+      @Override
+      public void onSubscribe(Flow.Subscription subscription) {
+        subscriptions.add(subscription);
+        subscription.request(10);
+      }
+
+      @Override
+      public void onNext(PolarSplitResult item) {
+        results.add(item);
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+
+      }
+
+      @Override
+      public void onComplete() {
+
+      }
+    });
+    for (int n = 0; n < 3; n++) {
+      flowProcessor.onNext(polygon(4, 70D));
+    }
+    executor.runNext();
+    assertEquals(1, results.size());
+    assertEquals(Arrays.asList(4L, 1L), requests);
+    subscriptions.get(0).cancel();
+    assertTrue(publisherCancelled.get());
+    while (!executor.tasks.isEmpty()) {
+      executor.runNext();
+    }
+    assertEquals(1, results.size());
+  }
+
+  @Test
+  public void testBuilder() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> PolarAsyncProcessor.builder().concurrency(0));
+    assertThrows(IllegalArgumentException.class, () -> PolarAsyncProcessor.builder().maxInFlight(0));
+    assertThrows(IllegalArgumentException.class, () -> PolarAsyncProcessor.builder().heavyVertices(0));
+  }
+
+}
@@ -0,0 +1,113 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarBatchProcessorTest {
+
+  private static final String POLAR = "POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))";
+  private static final String POLAR_SPLIT = "MULTIPOLYGON (((-180 70, -180 90, 0 70, -90 70, -180 70)), ((0 70, 180 90, 180 70, 90 70, 0 70)))";
+  private static final String NOT_POLAR = "POLYGON ((0 60, -80 60, -80 70, 0 70, 0 60))";
+
+  private static List<Polygon> polygons(GeometryFactory geometryFactory, int count) throws Exception {
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    List<Polygon> polygons = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      polygons.add((Polygon) wktReader.read(i % 2 == 0 ? POLAR : NOT_POLAR));
+    }
+    return polygons;
+  }
+
+  private static void assertResults(List<Polygon> polygons, List<PolarSplitResult> results) {
+    assertEquals(polygons.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      PolarSplitResult result = results.get(i);
+      assertEquals(i, result.getIndex());
+      assertTrue(polygons.get(i) == result.getPolygon());
+      if (i % 2 == 0) {
+        assertEquals(POLAR_SPLIT, result.getSplit().get().toString());
+      } else {
+        assertFalse(result.getSplit().isPresent());
+      }
+    }
+  }
+
+  @Test
+  public void testSplitPolarList() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    List<Polygon> polygons = polygons(geometryFactory, 101);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      assertResults(polygons, PolarBatchProcessor.splitPolar(polygons, geometryFactory, pool));
+      assertResults(polygons, PolarBatchProcessor.splitPolar(polygons.stream(), geometryFactory, pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSplitPolarExecutor() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    List<Polygon> polygons = polygons(geometryFactory, 101);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      assertResults(polygons, PolarBatchProcessor.splitPolar((Iterable<Polygon>) polygons, geometryFactory, executor));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSplitPolarBounded() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    List<Polygon> polygons = polygons(geometryFactory, 101);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    AtomicInteger pulled = new AtomicInteger();
+    List<PolarSplitResult> results = new ArrayList<>();
+    try {
+      PolarBatchProcessor.splitPolar(polygons.stream().peek(p -> pulled.incrementAndGet()).iterator(), geometryFactory, executor, 3, result -> {
+        assertTrue(pulled.get() - results.size() <= 3);
+        results.add(result);
+      });
+    } finally {
+      executor.shutdown();
+    }
+    assertResults(polygons, results);
+  }
+
+  @Test
+  public void testDefaultMaxInFlight() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      assertEquals(3 * PolarBatchProcessor.IN_FLIGHT_PER_THREAD, PolarBatchProcessor.defaultMaxInFlight(pool));
+    } finally {
+      pool.shutdown();
+    }
+    assertEquals(Runtime.getRuntime().availableProcessors() * PolarBatchProcessor.IN_FLIGHT_PER_THREAD,
+        PolarBatchProcessor.defaultMaxInFlight(Runnable::run));
+  }
+
+  @Test
+  public void testSplitPolarBoundedInvalid() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    assertThrows(IllegalArgumentException.class, () -> PolarBatchProcessor.splitPolar(
+        Arrays.<Polygon>asList().iterator(), geometryFactory, Runnable::run, 0, result -> {
+        }));
+  }
+
+}
@@ -0,0 +1,190 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.algorithm.Orientation;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKBWriter;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarFeaturePipelineTest {
+
+  private static final String POLAR = "{\"type\":\"Feature\",\"id\":1,\"geometry\":{\"type\":\"Polygon\",\"coordinates\":"
+      + "[[[180,70],[100,60],[45,50],[-30,50],[-90,70],[180,70]]]},\"properties\":{\"name\":\"polar\"}}";
+  private static final String NOT_POLAR = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Polygon\",\"coordinates\":"
+      + "[[[10.0,60],[20,60],[20,70],[10,70],[10.0,60]]]},\"properties\":{\"name\":\"not polar\"}}";
+  private static final String POINT = "{\"type\":\"Feature\",\"geometry\":{\"type\":\"Point\",\"coordinates\":[1.5,89]},\"properties\":{}}";
+  private static final String NO_GEOMETRY = "{\"type\":\"Feature\",\"geometry\":null,\"properties\":{\"name\":\"none\"}}";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+  private ExecutorService executor;
+
+  @BeforeEach
+  public void before() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterEach
+  public void after() {
+    executor.shutdownNow();
+  }
+
+  private String split(String input, GeoJsonFeatureWriter.Layout layout, int maxInFlight) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (
+        GeoJsonFeatureReader reader = new GeoJsonFeatureReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), geometryFactory);
+        GeoJsonFeatureWriter writer = new GeoJsonFeatureWriter(out, layout)
+    ) {
+      PolarFeaturePipeline.splitPolar(reader, writer, geometryFactory, executor, maxInFlight);
+    }
+    return new String(out.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testFeatureCollection() throws Exception {
+    String input = "{\"type\":\"FeatureCollection\",\"name\":\"test\",\"features\":[" + POLAR + "," + NOT_POLAR + "," + POINT + "," + NO_GEOMETRY
+        + "],\"bbox\":[-180,50,180,90]}";
+    JsonNode output = objectMapper.readTree(split(input, GeoJsonFeatureWriter.Layout.FEATURE_COLLECTION, 2));
+    assertEquals("FeatureCollection", output.get("type").asText());
+    JsonNode features = output.get("features");
+    assertEquals(4, features.size());
+
+    JsonNode polar = features.get(0);
+    assertEquals(1, polar.get("id").asInt());
+    assertEquals("polar", polar.get("properties").get("name").asText());
+    Geometry split = GeoJsonGeometries.read(polar.get("geometry"), geometryFactory);
+    Geometry expected = PolarProcessor.splitPolar(
+        (Polygon) new WKTReader(geometryFactory).read("POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))"), geometryFactory).get();
+    assertTrue(expected.norm().equalsExact(split.norm()));
+    for (int n = 0; n < split.getNumGeometries(); n++) {
+      assertTrue(Orientation.isCCW(((Polygon) split.getGeometryN(n)).getExteriorRing().getCoordinateSequence()));
+    }
+
+    assertEquals(objectMapper.readTree(NOT_POLAR), features.get(1));
+    assertEquals(objectMapper.readTree(POINT), features.get(2));
+    assertEquals(objectMapper.readTree(NO_GEOMETRY), features.get(3));
+  }
+
+  @Test
+  public void testSequences() throws Exception {
+    String input = "\u001e" + POLAR + "\n\u001e" + NOT_POLAR + "\n\u001e" + POINT + "\n";
+    String newlineDelimited = split(input, GeoJsonFeatureWriter.Layout.NEWLINE_DELIMITED, 1);
+    String[] lines = newlineDelimited.split("\n");
+    assertEquals(3, lines.length);
+    assertEquals("MultiPolygon", objectMapper.readTree(lines[0]).get("geometry").get("type").asText());
+    assertEquals(NOT_POLAR, lines[1]);
+    assertEquals(POINT, lines[2]);
+
+    String textSequence = split(newlineDelimited, GeoJsonFeatureWriter.Layout.TEXT_SEQUENCE, 1);
+    assertEquals("\u001e" + lines[0] + "\n\u001e" + NOT_POLAR + "\n\u001e" + POINT + "\n", textSequence);
+  }
+
+  @Test
+  public void testOrderWithBoundedInFlight() throws Exception {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      input.append(i % 3 == 0 ? POLAR : NOT_POLAR.replace("10.0", "10." + i)).append('\n');
+    }
+    String[] lines = split(input.toString(), GeoJsonFeatureWriter.Layout.NEWLINE_DELIMITED, 3).split("\n");
+    assertEquals(200, lines.length);
+    for (int i = 0; i < 200; i++) {
+      if (i % 3 == 0) {
+        assertEquals("MultiPolygon", objectMapper.readTree(lines[i]).get("geometry").get("type").asText());
+      } else {
+        assertEquals(objectMapper.readTree(NOT_POLAR.replace("10.0", "10." + i)), objectMapper.readTree(lines[i]));
+      }
+    }
+  }
+
+  @Test
+  public void testWkt() throws Exception {
+    String polar = "POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))";
+    String notPolar = "POLYGON((10 60,20 60,20 70,10 70,10 60))";
+    String input = polar + "\n\n" + notPolar + "\r\nLINESTRING (0 80, 180 80)\n";
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (
+        WktFeatureReader reader = new WktFeatureReader(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), geometryFactory);
+        WktFeatureWriter writer = new WktFeatureWriter(out)
+    ) {
+      assertEquals(3, PolarFeaturePipeline.splitPolar(reader, writer, geometryFactory, executor, 2));
+    }
+    String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+    assertEquals(3, lines.length);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    assertTrue(PolarProcessor.splitPolar(wktReader.read(polar), geometryFactory).get().equalsExact(wktReader.read(lines[0])));
+    assertEquals(notPolar, lines[1]);
+    assertTrue(PolarProcessor.splitPolar(wktReader.read("LINESTRING (0 80, 180 80)"), geometryFactory).get()
+        .equalsExact(wktReader.read(lines[2])));
+  }
+
+  @Test
+  public void testMappedWkb(@TempDir Path tempDir) throws Exception {
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    List<Geometry> geometries = new ArrayList<>();
+    geometries.add(wktReader.read("POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))"));
+    geometries.add(wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))"));
+    geometries.add(wktReader.read("LINESTRING (0 80, 180 80)"));
+    geometries.add(wktReader.read("POLYGON ((0 -60, 90 -60, 180 -60, -90 -60, 0 -60))"));
+
+    Path input = tempDir.resolve("input.wkb");
+    List<byte[]> records = new ArrayList<>();
+    try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(input))) {
+      WKBWriter wkbWriter = new WKBWriter();
+      for (Geometry geometry : geometries) {
+        byte[] wkb = wkbWriter.write(geometry);
+        records.add(wkb);
+        out.writeInt(wkb.length);
+        out.write(wkb);
+      }
+    }
+
+    Path output = tempDir.resolve("output.wkb");
+    try (
+        WkbFeatureReader reader = new WkbFeatureReader(new MappedFileInputStream(input, 7), geometryFactory);
+        OutputStream out = Files.newOutputStream(output);
+        WkbFeatureWriter writer = new WkbFeatureWriter(out)
+    ) {
+      assertEquals(4, PolarFeaturePipeline.splitPolar(reader, writer, geometryFactory, executor, 2));
+    }
+
+    try (WkbFeatureReader reader = new WkbFeatureReader(new MappedFileInputStream(output, 5), geometryFactory)) {
+      for (int i = 0; i < geometries.size(); i++) {
+        PolarFeature feature = reader.read();
+        Geometry geometry = geometries.get(i);
+        Optional<Geometry> expected = PolarProcessor.splitPolar(geometry, geometryFactory);
+        if (expected.isPresent()) {
+          assertTrue(expected.get().equalsExact(feature.getGeometry().get()));
+        } else {
+          assertArrayEquals(records.get(i), (byte[]) feature.getSource());
+        }
+      }
+      assertNull(reader.read());
+    }
+  }
+
+}
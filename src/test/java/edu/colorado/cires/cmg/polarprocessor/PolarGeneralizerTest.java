@@ -0,0 +1,133 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarGeneralizerTest {
+
+  private static final String POLAR = "POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))";
+
+  @Test
+  public void testDensify() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Polygon polygon = (Polygon) new WKTReader(geometryFactory).read(POLAR);
+    double tolerance = 0.01;
+    Geometry result = PolarProcessor.builder().densify(tolerance).build().split(polygon).get();
+    assertEquals(2, result.getNumGeometries());
+    assertTrue(result.getNumPoints() > PolarProcessor.splitPolar(polygon, geometryFactory).get().getNumPoints());
+    assertTrue(result.getNumPoints() < 300, Integer.toString(result.getNumPoints()));
+    for (int n = 0; n < result.getNumGeometries(); n++) {
+      Coordinate[] coordinates = result.getGeometryN(n).getCoordinates();
+      for (int i = 1; i < coordinates.length; i++) {
+        Coordinate c0 = coordinates[i - 1];
+        Coordinate c1 = coordinates[i];
+        if (c0.y == 90D || c1.y == 90D || (Math.abs(c0.x) == 180D && c0.x == c1.x)) {
+          continue;
+        }
+        // the midpoint is taken with the pole on the origin, where the plane does not wrap
+        double shifted = (PolarMath.shift(PolarMath.preSplitX(c0.x, c0.y, true)) + PolarMath.shift(PolarMath.preSplitX(c1.x, c1.y, true))) / 2D;
+        double x = shifted <= 0D ? shifted + 180D : shifted - 180D;
+        double y = (PolarMath.preSplitY(c0.x, c0.y, true) + PolarMath.preSplitY(c1.x, c1.y, true)) / 2D;
+        double deviation = Math.hypot(PolarMath.postSplitX(x, y) - (c0.x + c1.x) / 2D, PolarMath.postSplitY(x, y, true) - (c0.y + c1.y) / 2D);
+        assertTrue(deviation <= tolerance + 1e-6, c0 + " " + c1 + " " + deviation);
+      }
+    }
+  }
+
+  @Test
+  public void testDensifyFollowsPolarPlane() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Polygon polygon = (Polygon) new WKTReader(geometryFactory).read("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))");
+    Geometry result = PolarProcessor.builder().densify(0.1).build().split(polygon).get();
+    // the straight edges of the square around the pole come closest to it half way between its corners
+    for (Coordinate coordinate : result.getCoordinates()) {
+      assertTrue(coordinate.y >= 70D - 1e-9, coordinate.toString());
+    }
+    assertEquals(70D, result.getEnvelopeInternal().getMinY());
+    boolean found = false;
+    for (Coordinate coordinate : result.getCoordinates()) {
+      found |= Math.abs(coordinate.x - 45D) < 1e-9 && coordinate.y > 75D;
+    }
+    assertTrue(found);
+  }
+
+  @Test
+  public void testSimplify() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Coordinate[] coordinates = new Coordinate[3601];
+    for (int i = 0; i < 3600; i++) {
+      coordinates[i] = new Coordinate(-180D + i / 10D, 70D + 0.001 * Math.sin(i));
+    }
+    coordinates[3600] = coordinates[0].copy();
+    Polygon polygon = geometryFactory.createPolygon(coordinates);
+    Geometry result = PolarProcessor.builder().simplify(0.5).build().split(polygon).get();
+    assertEquals(2, result.getNumGeometries());
+    assertTrue(result.getNumPoints() < 50, Integer.toString(result.getNumPoints()));
+    for (Coordinate coordinate : result.getCoordinates()) {
+      assertTrue(coordinate.y == 90D || Math.abs(coordinate.y - 70D) < 0.02, coordinate.toString());
+    }
+  }
+
+  @Test
+  public void testSimplifyKeepsHoles() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Coordinate[] coordinates = new Coordinate[3601];
+    for (int i = 0; i < 3600; i++) {
+      double lon = -180D + i / 10D;
+      // the shell dips around the hole by less than the tolerance, so simplifying the shell alone would leave the hole outside it
+      coordinates[i] = new Coordinate(lon, lon >= 11D && lon <= 19D ? 70D : 70.5 + 0.001 * Math.sin(i));
+    }
+    coordinates[3600] = coordinates[0].copy();
+    Polygon polygon = geometryFactory.createPolygon(geometryFactory.createLinearRing(coordinates), new LinearRing[]{
+        (LinearRing) new WKTReader(geometryFactory).read("LINEARRING (13 70.1, 17 70.1, 17 70.3, 13 70.3, 13 70.1)")});
+    Geometry result = PolarProcessor.builder().simplify(1D).build().split(polygon).get();
+    assertTrue(result.isValid());
+    int holes = 0;
+    for (int n = 0; n < result.getNumGeometries(); n++) {
+      holes += ((Polygon) result.getGeometryN(n)).getNumInteriorRing();
+    }
+    assertEquals(1, holes);
+    assertTrue(result.getNumPoints() < 100, Integer.toString(result.getNumPoints()));
+    assertTrue(result.covers(geometryFactory.createPoint(new Coordinate(15D, 70.05))));
+  }
+
+  @Test
+  public void testDensifyLimit() throws Exception {
+    PolarGeneralizer generalizer = PolarGeneralizer.of(0D, 1e-15);
+    double[] ring = new double[202];
+    for (int i = 0; i <= 100; i++) {
+      double lon = -180D + (i % 100) * 3.6;
+      ring[i * 2] = PolarMath.preSplitX(lon, 70D, true);
+      ring[i * 2 + 1] = PolarMath.preSplitY(lon, 70D, true);
+    }
+    double[] densified = generalizer.postSplitDensify(ring, true, PolarRounding.precisionModel(new PrecisionModel()));
+    assertEquals(101 + PolarGeneralizer.MAX_INSERTED, densified.length / 2);
+  }
+
+  @Test
+  public void testDisabled() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Polygon polygon = (Polygon) new WKTReader(geometryFactory).read(POLAR);
+    PolarProcessor processor = PolarProcessor.builder().simplify(0D).densify(0D).build();
+    assertEquals(PolarProcessor.splitPolar(polygon, geometryFactory).get(), processor.split(polygon).get());
+    assertTrue(PolarGeneralizer.of(0D, 0D) == PolarGeneralizer.NONE);
+  }
+
+  @Test
+  public void testTolerance() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.builder().densify(-1D));
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.builder().densify(Double.NaN));
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.builder().simplify(Double.POSITIVE_INFINITY));
+  }
+
+}
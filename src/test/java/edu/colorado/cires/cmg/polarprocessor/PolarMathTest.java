@@ -0,0 +1,67 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.apache.commons.math3.util.Precision;
+import org.junit.jupiter.api.Test;
+
+public class PolarMathTest {
+
+  private static void assertRound(double value) {
+    double expected = Precision.round(value, PolarMath.PRECISION);
+    double actual = PolarMath.round(value);
+    assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), Double.toString(value));
+  }
+
+  @Test
+  public void testRoundMatchesPrecision() throws Exception {
+    Random random = new Random(11);
+    for (int i = 0; i < 250000; i++) {
+      assertRound(random.nextDouble() * 720D - 360D);
+      assertRound((random.nextDouble() - 0.5D) * 1e-9);
+      assertRound((random.nextInt(2000000) - 1000000) / 1e11 + 5e-12);
+      assertRound(random.nextInt(721) - 360D + random.nextInt(1000) * 1e-12);
+    }
+  }
+
+  @Test
+  public void testRoundToPrecisionMatchesPrecision() throws Exception {
+    Random random = new Random(13);
+    for (int precision = 0; precision <= PolarMath.MAX_PRECISION; precision++) {
+      for (int i = 0; i < 20000; i++) {
+        double value = random.nextInt(4) == 0 ? (random.nextInt(2000000) - 1000000) / 1e6 + 5e-7 : random.nextDouble() * 720D - 360D;
+        double expected = Precision.round(value, precision);
+        double actual = PolarMath.round(value, precision);
+        assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual), value + " to " + precision);
+      }
+    }
+  }
+
+  @Test
+  public void testTrigonometryMatchesMath() throws Exception {
+    for (int degrees = -180; degrees <= 180; degrees++) {
+      assertEquals(Math.cos(Math.toRadians(degrees)), PolarMath.cos(degrees), 0D, Integer.toString(degrees));
+      assertEquals(Math.sin(Math.toRadians(degrees)), PolarMath.sin(degrees), 0D, Integer.toString(degrees));
+    }
+    assertEquals(Double.doubleToLongBits(-0D), Double.doubleToLongBits(PolarMath.sin(-0D)));
+    assertEquals(Math.cos(Math.toRadians(12.5)), PolarMath.cos(12.5), 0D);
+    assertEquals(Math.sin(Math.toRadians(-181D)), PolarMath.sin(-181D), 0D);
+  }
+
+  @Test
+  public void testRoundSpecialValues() throws Exception {
+    assertRound(0D);
+    assertRound(-0D);
+    assertRound(-1e-13);
+    assertRound(1e-13);
+    assertRound(180D);
+    assertRound(-180D);
+    assertRound(57.99203380037499);
+    assertRound(1e300);
+    assertRound(Double.NaN);
+    assertRound(Double.POSITIVE_INFINITY);
+    assertRound(Double.NEGATIVE_INFINITY);
+  }
+
+}
@@ -0,0 +1,164 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+
+public class PolarPolygonSplitterTest {
+
+  private static Polygon random(Random random, GeometryFactory geometryFactory) {
+    int size = 3 + random.nextInt(40);
+    double[] lons = new double[size];
+    for (int n = 0; n < size; n++) {
+      lons[n] = random.nextInt(4) == 0 ? random.nextInt(24) * 15D - 180D : random.nextDouble() * 360D - 180D;
+    }
+    Arrays.sort(lons);
+    boolean reverse = random.nextBoolean();
+    boolean arctic = random.nextBoolean();
+    // most rings surround the pole, the rest are bands that do not
+    double span = random.nextInt(4) == 0 ? 180D : 360D;
+    Coordinate[] coordinates = new Coordinate[size + 1];
+    for (int n = 0; n < size; n++) {
+      double lat = random.nextInt(5) == 0 ? 60D : 40D + random.nextDouble() * 45D;
+      double lon = span == 360D ? lons[n] : (lons[n] + 180D) / 2D;
+      coordinates[reverse ? size - 1 - n : n] = new Coordinate(lon, arctic ? lat : -lat);
+    }
+    coordinates[size] = coordinates[0].copy();
+    LinearRing[] holes = new LinearRing[random.nextInt(3)];
+    for (int n = 0; n < holes.length; n++) {
+      double lon = random.nextInt(12) * 30D - 180D;
+      double lat = arctic ? 87D : -88D;
+      holes[n] = geometryFactory.createLinearRing(new Coordinate[]{
+          new Coordinate(lon + 1D, lat), new Coordinate(lon + 9D, lat), new Coordinate(lon + 9D, lat + 1D), new Coordinate(lon + 1D, lat + 1D),
+          new Coordinate(lon + 1D, lat)});
+    }
+    return geometryFactory.createPolygon(geometryFactory.createLinearRing(coordinates), holes);
+  }
+
+  private static Optional<Geometry> stages(Polygon polygon, GeometryFactory geometryFactory) {
+    boolean arctic = PolarProcessor.isArctic(polygon);
+    return PolarProcessor.isPolar(polygon, geometryFactory).map(preSplit -> PolarProcessor.postSplitTranslateGeometry(
+        PolarProcessor.addPolarCoordinate(PolarProcessor.split180(preSplit, SplitStrategy.NATIVE), geometryFactory), geometryFactory, arctic));
+  }
+
+  @Test
+  public void testMatchesStages() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Random random = new Random(7);
+    int split = 0;
+    for (int i = 0; i < 5000; i++) {
+      Polygon polygon = random(random, geometryFactory);
+      Optional<Geometry> expected;
+      try {
+        expected = stages(polygon, geometryFactory);
+      } catch (RuntimeException | AssertionError e) {
+        // spatial4j cannot split every ring that falls back to it
+        continue;
+      }
+      Optional<Geometry> actual = PolarPolygonSplitter.split(polygon, geometryFactory);
+      assertEquals(expected.isPresent(), actual.isPresent(), polygon.toString());
+      if (expected.isPresent()) {
+        assertEquals(expected.get().getGeometryType(), actual.get().getGeometryType(), polygon.toString());
+        assertTrue(expected.get().equalsExact(actual.get()), polygon + " expected: " + expected.get() + " but was: " + actual.get());
+        split++;
+      }
+    }
+    assertTrue(split > 1000);
+  }
+
+  private static void assertIdentical(Geometry expected, Geometry actual) {
+    assertEquals(expected.getGeometryType(), actual.getGeometryType());
+    assertEquals(expected.getNumGeometries(), actual.getNumGeometries());
+    for (int i = 0; i < expected.getNumGeometries(); i++) {
+      Polygon expectedPolygon = (Polygon) expected.getGeometryN(i);
+      Polygon actualPolygon = (Polygon) actual.getGeometryN(i);
+      assertEquals(expectedPolygon.getNumInteriorRing(), actualPolygon.getNumInteriorRing());
+      for (int n = 0; n <= expectedPolygon.getNumInteriorRing(); n++) {
+        CoordinateSequence expectedRing = (n == 0 ? expectedPolygon.getExteriorRing() : expectedPolygon.getInteriorRingN(n - 1))
+            .getCoordinateSequence();
+        CoordinateSequence actualRing = (n == 0 ? actualPolygon.getExteriorRing() : actualPolygon.getInteriorRingN(n - 1))
+            .getCoordinateSequence();
+        assertEquals(expectedRing.size(), actualRing.size());
+        for (int c = 0; c < expectedRing.size(); c++) {
+          assertEquals(Double.doubleToRawLongBits(expectedRing.getX(c)), Double.doubleToRawLongBits(actualRing.getX(c)));
+          assertEquals(Double.doubleToRawLongBits(expectedRing.getY(c)), Double.doubleToRawLongBits(actualRing.getY(c)));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testParallelMatchesSequential() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Random random = new Random(7);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      int split = 0;
+      for (int i = 0; i < 5000; i++) {
+        Polygon polygon = random(random, geometryFactory);
+        boolean arctic = PolarProcessor.isArctic(polygon);
+        PolarGeneralizer generalizer = i % 4 == 0 ? PolarGeneralizer.of(0D, 0.5) : PolarGeneralizer.NONE;
+        Optional<Geometry> expected;
+        try {
+          expected = PolarPolygonSplitter.split(polygon, geometryFactory, PolarRounding.DEFAULT, arctic, null, PolarMetrics.NONE, generalizer,
+              PolarParallelism.NONE);
+        } catch (RuntimeException | AssertionError e) {
+          // spatial4j cannot split every ring that falls back to it
+          continue;
+        }
+        Optional<Geometry> actual = PolarPolygonSplitter.split(polygon, geometryFactory, PolarRounding.DEFAULT, arctic, null,
+            PolarMetrics.NONE, generalizer, PolarParallelism.of(pool, 1, 1 + random.nextInt(8)));
+        assertEquals(expected.isPresent(), actual.isPresent(), polygon.toString());
+        if (expected.isPresent()) {
+          assertIdentical(expected.get(), actual.get());
+          split++;
+        }
+      }
+      assertTrue(split > 1000);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testParallelLargePolygon() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    int size = 50000;
+    Coordinate[] shell = new Coordinate[size + 1];
+    for (int n = 0; n < size; n++) {
+      double lon = 180D - n * 360D / size;
+      shell[n] = new Coordinate(lon, 70D + 10D * Math.sin(n / 50D));
+    }
+    shell[size] = shell[0].copy();
+    LinearRing[] holes = new LinearRing[200];
+    for (int n = 0; n < holes.length; n++) {
+      double lon = n * 360D / holes.length - 179D;
+      holes[n] = geometryFactory.createLinearRing(new Coordinate[]{
+          new Coordinate(lon, 85D), new Coordinate(lon + 1D, 85D), new Coordinate(lon + 1D, 86D), new Coordinate(lon, 86D),
+          new Coordinate(lon, 85D)});
+    }
+    Polygon polygon = geometryFactory.createPolygon(geometryFactory.createLinearRing(shell), holes);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      Geometry expected = new PolarProcessor().split(polygon).get();
+      Geometry actual = PolarProcessor.builder().forkJoinPool(pool).parallelThreshold(1).build().split(polygon).get();
+      assertTrue(expected.getNumGeometries() > 1);
+      assertIdentical(expected, actual);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+}
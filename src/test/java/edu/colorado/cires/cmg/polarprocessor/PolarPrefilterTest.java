@@ -0,0 +1,61 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarPrefilterTest {
+
+  private static Polygon randomPolygon(GeometryFactory geometryFactory, Random random) {
+    int size = 3 + random.nextInt(8);
+    double centerX = random.nextInt(4) == 0 ? 0D : random.nextDouble() * 360D - 180D;
+    double centerY = random.nextDouble() * 170D - 85D;
+    double radius = random.nextDouble() * (random.nextBoolean() ? 5D : 120D);
+    Coordinate[] coordinates = new Coordinate[size + 1];
+    for (int i = 0; i < size; i++) {
+      double angle = 2D * Math.PI * i / size;
+      double x = centerX + radius * Math.cos(angle);
+      double y = centerY + radius * Math.sin(angle) / 4D;
+      x = Math.max(-180D, Math.min(180D, x));
+      y = Math.max(-90D, Math.min(90D, y));
+      coordinates[i] = new Coordinate(x, y);
+    }
+    coordinates[size] = coordinates[0].copy();
+    return geometryFactory.createPolygon(coordinates);
+  }
+
+  @Test
+  public void testPrefilterNeverRejectsPolar() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Random random = new Random(42);
+    int rejected = 0;
+    for (int i = 0; i < 5000; i++) {
+      Polygon polygon = randomPolygon(geometryFactory, random);
+      if (PolarPrefilter.isNotPolar(polygon)) {
+        rejected++;
+        assertFalse(PolarProcessor.isPolar(polygon, geometryFactory).isPresent(), polygon.toString());
+      }
+    }
+    assertTrue(rejected > 2500);
+  }
+
+  @Test
+  public void testPrefilter() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    assertTrue(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((10 10, 20 10, 20 20, 10 20, 10 10))")));
+    assertTrue(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((170 70, -170 70, -170 80, 170 80, 170 70))")));
+    assertTrue(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((-170 60, 170 60, 170 70, -170 70, -170 60))")));
+    assertFalse(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))")));
+    assertFalse(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((180 -70, 90 -70, 10 -70, -90 -70, 180 -70))")));
+    assertFalse(PolarPrefilter.isNotPolar((Polygon) wktReader.read("POLYGON ((0 60, -80 60, -80 70, 0 70, 0 60))")));
+  }
+
+}
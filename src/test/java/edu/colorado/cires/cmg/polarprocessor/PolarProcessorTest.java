@@ -2,7 +2,15 @@ package edu.colorado.cires.cmg.polarprocessor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -139,5 +147,150 @@ public class PolarProcessorTest {
     assertFalse(PolarProcessor.splitPolar((Polygon) wktReader.read(wkt), geometryFactory).isPresent());
   }
 
+  @Test
+  public void testSplitPolarMultiPolygon() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    String wkt = "MULTIPOLYGON (((10 60, 20 60, 20 70, 10 70, 10 60)), ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70)))";
+    MultiPolygon multiPolygon = (MultiPolygon) wktReader.read(wkt);
+    Geometry result = PolarProcessor.splitPolar((Geometry) multiPolygon, geometryFactory).get();
+    String expected = "MULTIPOLYGON (((10 60, 20 60, 20 70, 10 70, 10 60)), ((0 57.99203380037, 180 90, 180 70, 100 60, 45 50, 0 57.99203380037)), ((-180 70, -180 90, 0 57.99203380037, -30 50, -90 70, -180 70)))";
+    assertEquals(expected, result.toString());
+    assertSame(multiPolygon.getGeometryN(0), result.getGeometryN(0));
+  }
+
+  @Test
+  public void testSplitPolarGeometryCollection() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    String wkt = "GEOMETRYCOLLECTION (POINT (1 89), POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70)))";
+    Geometry collection = wktReader.read(wkt);
+    Geometry result = PolarProcessor.splitPolar(collection, geometryFactory).get();
+    String expected = "GEOMETRYCOLLECTION (POINT (1 89), MULTIPOLYGON (((0 57.99203380037, 180 90, 180 70, 100 60, 45 50, 0 57.99203380037)), ((-180 70, -180 90, 0 57.99203380037, -30 50, -90 70, -180 70))))";
+    assertEquals(expected, result.toString());
+    assertSame(collection.getGeometryN(0), result.getGeometryN(0));
+  }
+
+  @Test
+  public void testSplitPolarLargeMultiPolygon() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Polygon polar = (Polygon) wktReader.read("POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))");
+    Polygon[] polygons = new Polygon[200];
+    for (int n = 0; n < polygons.length; n++) {
+      polygons[n] = n % 2 == 0 ? polar : (Polygon) wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))");
+    }
+    Geometry result = PolarProcessor.splitPolar(geometryFactory.createMultiPolygon(polygons), geometryFactory).get();
+    Geometry split = PolarProcessor.splitPolar(polar, geometryFactory).get();
+    assertEquals(300, result.getNumGeometries());
+    for (int n = 0; n < polygons.length; n += 2) {
+      int i = n / 2 * 3;
+      assertEquals(split.getGeometryN(0), result.getGeometryN(i));
+      assertEquals(split.getGeometryN(1), result.getGeometryN(i + 1));
+      assertSame(polygons[n + 1], result.getGeometryN(i + 2));
+    }
+  }
+
+  @Test
+  public void testNotPolarMultiPolygon() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    String wkt = "MULTIPOLYGON (((10 60, 20 60, 20 70, 10 70, 10 60)), ((0 -60, 180 -60, 90 -60, 0 -60)))";
+    assertFalse(PolarProcessor.splitPolar(wktReader.read(wkt), geometryFactory).isPresent());
+    assertFalse(PolarProcessor.splitPolar(wktReader.read("GEOMETRYCOLLECTION (POINT (0 90), LINESTRING (0 80, 10 80))"), geometryFactory).isPresent());
+  }
+
+  @Test
+  public void testInstanceMatchesStatic() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarProcessor processor = new PolarProcessor();
+    for (String wkt : new String[]{
+        "POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))",
+        "POLYGON ((-90 -70, 0 -60, 90 -70, 180 -70, -90 -70))",
+        "LINESTRING (170 80, -170 80)",
+        "MULTIPOLYGON (((180 70, 90 70, 0 70, -90 70, 180 70)), ((10 60, 20 60, 20 70, 10 70, 10 60)))"}) {
+      Geometry geometry = wktReader.read(wkt);
+      assertEquals(PolarProcessor.splitPolar(geometry, geometryFactory).get(), processor.split(geometry).get());
+    }
+    assertFalse(processor.split(wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))")).isPresent());
+  }
+
+  @Test
+  public void testInstancePrecision() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarProcessor processor = PolarProcessor.builder().geometryFactory(geometryFactory).precision(6).build();
+    Geometry result = processor.split(wktReader.read("LINESTRING (170 80, -170 80)")).get();
+    assertEquals("MULTILINESTRING ((170 80, 180 80.151922), (-180 80.151922, -170 80))", result.toString());
+    assertSame(geometryFactory, processor.getGeometryFactory());
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.builder().precision(-1));
+    assertThrows(IllegalArgumentException.class, () -> PolarProcessor.builder().precision(16));
+  }
+
+  @Test
+  public void testInstancePoleSelection() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Polygon polygon = (Polygon) wktReader.read("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))");
+    PolarProcessor arctic = PolarProcessor.builder().poleSelection(PoleSelection.ARCTIC).build();
+    assertEquals(PolarProcessor.splitPolar(polygon, geometryFactory).get(), arctic.split(polygon).get());
+    PolarProcessor antarctic = PolarProcessor.builder().poleSelection(PoleSelection.ANTARCTIC).build();
+    String expected = "MULTIPOLYGON (((-180 70, -180 -90, 0 70, -90 70, -180 70)), ((0 70, 180 -90, 180 70, 90 70, 0 70)))";
+    assertEquals(expected, antarctic.split(polygon).get().toString());
+  }
+
+  @Test
+  public void testInstanceMetrics() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Map<PolarStage, Integer> stages = new EnumMap<>(PolarStage.class);
+    List<String> events = new ArrayList<>();
+    PolarMetrics metrics = new PolarMetrics() {
+      @Override
+      public void stageCompleted(PolarStage stage, long nanos) {
+        assertTrue(nanos >= 0);
+        stages.merge(stage, 1, Integer::sum);
+      }
+
+      @Override
+      public void fastPath(int vertices) {
+        events.add("fastPath " + vertices);
+      }
+
+      @Override
+      public void fullPath(int vertices) {
+        events.add("fullPath " + vertices);
+      }
+
+      @Override
+      public void split(int verticesIn, int verticesOut) {
+        events.add("split " + verticesIn + " " + verticesOut);
+      }
+
+      @Override
+      public void passedThrough(int vertices) {
+        events.add("passedThrough " + vertices);
+      }
+
+      @Override
+      public void rejectedOnPole(int vertices) {
+        events.add("rejectedOnPole " + vertices);
+      }
+    };
+    PolarProcessor processor = PolarProcessor.builder().metrics(metrics).build();
+    processor.split(wktReader.read("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))"));
+    processor.split(wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))"));
+    processor.split(wktReader.read("POLYGON ((0 80, 90 80, 0 90, 0 80))"));
+    processor.split(wktReader.read("LINESTRING (170 80, -170 80)"));
+    assertEquals(Arrays.asList("fullPath 5", "split 5 10", "fastPath 5", "passedThrough 5", "fullPath 4", "rejectedOnPole 4", "split 2 4"),
+        events);
+    Map<PolarStage, Integer> expected = new EnumMap<>(PolarStage.class);
+    expected.put(PolarStage.PREFILTER, 3);
+    expected.put(PolarStage.DETECTION, 2);
+    expected.put(PolarStage.SPLIT, 2);
+    expected.put(PolarStage.TRANSLATION, 1);
+    assertEquals(expected, stages);
+  }
 
 }
@@ -0,0 +1,149 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarSplitCacheTest {
+
+  private static final String POLAR = "POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))";
+
+  @Test
+  public void testHit() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarSplitCache cache = new PolarSplitCache(1000);
+    Optional<Geometry> first = cache.split(wktReader.read(POLAR));
+    Optional<Geometry> second = cache.split(wktReader.read(POLAR));
+    assertEquals(PolarProcessor.splitPolar(wktReader.read(POLAR), geometryFactory), first);
+    assertSame(first, second);
+    assertFalse(cache.split(wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))")).isPresent());
+    assertFalse(cache.split(wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))")).isPresent());
+    PolarSplitCache.Stats stats = cache.getStats();
+    assertEquals(2, stats.getHitCount());
+    assertEquals(2, stats.getMissCount());
+    assertEquals(0, stats.getEvictionCount());
+    assertEquals(0.5D, stats.getHitRate());
+    assertEquals(2, cache.size());
+    assertEquals(6 + first.get().getNumPoints() + 5, cache.vertexCount());
+  }
+
+  @Test
+  public void testKey() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarSplitCache cache = new PolarSplitCache(1000);
+    cache.split(wktReader.read("LINESTRING (170 80, -170 80)"));
+    cache.split(wktReader.read("LINESTRING Z (170 80 1, -170 80 2)"));
+    cache.split(wktReader.read("MULTILINESTRING ((170 80, -170 80))"));
+    cache.split(wktReader.read("GEOMETRYCOLLECTION (LINESTRING (170 80, -170 80))"));
+    Geometry srid = wktReader.read("LINESTRING (170 80, -170 80)");
+    srid.setSRID(3995);
+    cache.split(srid);
+    assertEquals(0, cache.getStats().getHitCount());
+    assertEquals(5, cache.size());
+    cache.split(wktReader.read("LINESTRING Z (170 80 1, -170 80 2)"));
+    cache.split(wktReader.read("LINESTRING (170 80, -170 80.0)"));
+    assertEquals(2, cache.getStats().getHitCount());
+  }
+
+  @Test
+  public void testGeometryKey() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    GeometryKey key = GeometryKey.of(wktReader.read("POLYGON ((0 60, 10 60, 10 70, 0 70, 0 60))"));
+    assertEquals(key, GeometryKey.of(wktReader.read("POLYGON ((0 60, 10 60, 10 70, 0 70, 0 60))")));
+    assertEquals(key.hashCode(), GeometryKey.of(wktReader.read("POLYGON ((-0 60, 10 60, 10 70, -0 70, -0 60))")).hashCode());
+    assertEquals(key, GeometryKey.of(wktReader.read("POLYGON ((-0 60, 10 60, 10 70, -0 70, -0 60))")));
+    assertNotEquals(key, GeometryKey.of(wktReader.read("POLYGON ((0 60, 10 60, 10 71, 0 70, 0 60))")));
+    assertNotEquals(key, GeometryKey.of(wktReader.read("MULTIPOLYGON (((0 60, 10 60, 10 70, 0 70, 0 60)))")));
+    assertNotEquals(GeometryKey.of(wktReader.read("LINESTRING Z (0 60 1, 10 60 1)")), GeometryKey.of(wktReader.read("LINESTRING Z (0 60 1, 10 60 2)")));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarSplitCache cache = new PolarSplitCache(10);
+    Geometry a = wktReader.read("POLYGON ((10 60, 20 60, 20 70, 10 70, 10 60))");
+    Geometry b = wktReader.read("POLYGON ((30 60, 40 60, 40 70, 30 70, 30 60))");
+    Geometry c = wktReader.read("POLYGON ((50 60, 60 60, 60 70, 50 70, 50 60))");
+    cache.split(a);
+    cache.split(b);
+    cache.split(a);
+    cache.split(c);
+    assertEquals(1, cache.getStats().getEvictionCount());
+    cache.split(a);
+    assertEquals(2, cache.getStats().getHitCount());
+    cache.split(b);
+    assertEquals(4, cache.getStats().getMissCount());
+    assertEquals(2, cache.size());
+    assertEquals(10, cache.vertexCount());
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.vertexCount());
+  }
+
+  @Test
+  public void testTooLarge() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    PolarSplitCache cache = new PolarSplitCache(8);
+    Geometry polar = wktReader.read(POLAR);
+    assertEquals(PolarProcessor.splitPolar(polar, geometryFactory), cache.split(polar));
+    assertEquals(0, cache.size());
+    assertEquals(0, cache.getStats().getEvictionCount());
+  }
+
+  @Test
+  public void testConcurrent() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    List<Geometry> geometries = new ArrayList<>();
+    for (int n = 0; n < 100; n++) {
+      geometries.add(wktReader.read("POLYGON ((180 70, 100 60, 45 50, -30 " + (50 + n / 10D) + ", -90 70, 180 70))"));
+    }
+    PolarSplitCache cache = new PolarSplitCache(100000);
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 10; i++) {
+            for (Geometry geometry : geometries) {
+              assertEquals(PolarProcessor.splitPolar(geometry, geometryFactory), cache.split(geometry));
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    PolarSplitCache.Stats stats = cache.getStats();
+    assertEquals(4000, stats.getHitCount() + stats.getMissCount());
+    assertEquals(100, cache.size());
+  }
+
+  @Test
+  public void testMaximumSize() throws Exception {
+    assertThrows(IllegalArgumentException.class, () -> new PolarSplitCache(0));
+  }
+
+}
@@ -0,0 +1,117 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+import org.locationtech.jts.io.WKTWriter;
+
+public class PolarTrackSplitterTest {
+
+  private final GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+  private final WKTReader wktReader = new WKTReader(geometryFactory);
+
+  private String split(String wkt) throws Exception {
+    return PolarProcessor.splitPolar(wktReader.read(wkt), geometryFactory).map(Geometry::toString).orElse(null);
+  }
+
+  @Test
+  public void testAntiMeridian() throws Exception {
+    assertEquals("MULTILINESTRING ((170 80, 180 80.15192246988), (-180 80.15192246988, -170 80))", split("LINESTRING (170 80, -170 80)"));
+    assertEquals("MULTILINESTRING ((-170 -80, -180 -80.15192246988), (180 -80.15192246988, 170 -80))", split("LINESTRING (-170 -80, 170 -80)"));
+  }
+
+  @Test
+  public void testEquatorialAntiMeridian() throws Exception {
+    assertEquals("MULTILINESTRING ((179 0, 180 0), (-180 0, -179 0))", split("LINESTRING (179 0, -179 0)"));
+    assertEquals("MULTILINESTRING ((170 -10, 180 -5), (-180 -5, -170 0))", split("LINESTRING (170 -10, -170 0)"));
+    assertEquals("MULTILINESTRING ((-178 30, -180 10), (180 10, 179 0))", split("LINESTRING (-178 30, 179 0)"));
+    // straddling the equator is never routed through a pole
+    assertEquals("MULTILINESTRING ((170 60, 180 0), (-180 0, -170 -60))", split("LINESTRING (170 60, -170 -60)"));
+    assertFalse(PolarProcessor.splitPolar(wktReader.read("LINESTRING (0 0, 180 0)"), geometryFactory).isPresent());
+    assertFalse(PolarProcessor.splitPolar(wktReader.read("LINESTRING (0 80, 180 -80)"), geometryFactory).isPresent());
+  }
+
+  @Test
+  public void testThroughPole() throws Exception {
+    assertEquals("MULTILINESTRING ((0 80, 0 90), (180 90, 180 80))", split("LINESTRING (0 80, 180 80)"));
+    assertEquals("MULTILINESTRING ((-45 -70, -45 -90), (135 -90, 135 -80))", split("LINESTRING (-45 -70, 135 -80)"));
+  }
+
+  @Test
+  public void testPoleVertex() throws Exception {
+    assertEquals("MULTILINESTRING ((0 80, 0 90), (120 90, 120 80))", split("LINESTRING (0 80, 45 90, 45 90, 120 80)"));
+    assertEquals("LINESTRING (10 80, 10 90, 10 80)", split("LINESTRING (10 80, 0 90, 10 80)"));
+    assertEquals("LINESTRING (10 90, 10 80)", split("LINESTRING (0 90, 10 80)"));
+    assertEquals("LINESTRING (10 80, 10 90)", split("LINESTRING (10 80, 0 90)"));
+    assertFalse(PolarProcessor.splitPolar(wktReader.read("LINESTRING (10 80, 10 90, 10 80)"), geometryFactory).isPresent());
+  }
+
+  @Test
+  public void testAntiMeridianVertex() throws Exception {
+    assertEquals("LINESTRING (170 80, 180 80, 170 81)", split("LINESTRING (170 80, -180 80, 170 81)"));
+    assertEquals("LINESTRING (-170 80, -180 80, -180 81, -170 81)", split("LINESTRING (-170 80, 180 80, -180 81, -170 81)"));
+    assertEquals("MULTILINESTRING ((170 80, 180 80), (-180 80, -170 81))", split("LINESTRING (170 80, 180 80, -170 81)"));
+    assertEquals("LINESTRING (-180 80, -170 81)", split("LINESTRING (180 80, -170 81)"));
+    assertFalse(PolarProcessor.splitPolar(wktReader.read("LINESTRING (170 80, 180 80, 170 81)"), geometryFactory).isPresent());
+  }
+
+  @Test
+  public void testNotSplit() throws Exception {
+    LineString lineString = (LineString) wktReader.read("LINESTRING (10 60, 20 70, -100 89, -179 85)");
+    assertFalse(PolarProcessor.splitPolar(lineString, geometryFactory).isPresent());
+  }
+
+  @Test
+  public void testMultiLineString() throws Exception {
+    Geometry multiLineString = wktReader.read("MULTILINESTRING ((10 60, 20 70), (170 80, -170 80))");
+    Geometry result = PolarProcessor.splitPolar(multiLineString, geometryFactory).get();
+    assertEquals("MULTILINESTRING ((10 60, 20 70), (170 80, 180 80.15192246988), (-180 80.15192246988, -170 80))", result.toString());
+    assertSame(multiLineString.getGeometryN(0), result.getGeometryN(0));
+  }
+
+  @Test
+  public void testZ() throws Exception {
+    Geometry result = PolarProcessor.splitPolar(wktReader.read("LINESTRING Z (0 80 -10, 180 70 -40)"), geometryFactory).get();
+    assertEquals("MULTILINESTRING Z((0 80 -10, 0 90 -20), (180 90 -20, 180 70 -40))", new WKTWriter(3).write(result));
+  }
+
+  @Test
+  public void testStreaming() {
+    List<String> events = new ArrayList<>();
+    PolarTrackSplitter splitter = new PolarTrackSplitter(new PolarTrackSplitter.Sink() {
+      @Override
+      public void vertex(double lon, double lat, double z) {
+        events.add(lon + " " + lat);
+      }
+
+      @Override
+      public void endPart() {
+        events.add("|");
+      }
+    });
+    splitter.add(90, 80);
+    assertTrue(events.isEmpty());
+    splitter.add(-90, 80);
+    assertEquals(4, events.size());
+    splitter.add(-80, 80);
+    assertTrue(splitter.end());
+    assertEquals("[90.0 80.0, 90.0 90.0, |, -90.0 90.0, -90.0 80.0, -80.0 80.0, |]", events.toString());
+
+    events.clear();
+    splitter.add(10, 80);
+    splitter.add(20, 80);
+    assertFalse(splitter.end());
+    assertEquals("[10.0 80.0, 20.0 80.0, |]", events.toString());
+  }
+
+}
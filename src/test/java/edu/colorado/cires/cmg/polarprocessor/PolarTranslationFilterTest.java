@@ -0,0 +1,38 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PolarTranslationFilterTest {
+
+  @Test
+  public void testTranslate() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Polygon polygon = (Polygon) wktReader.read("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))");
+    Polygon result = geometryFactory.createPolygon(PolarTranslationFilter.preSplit(true).translate(polygon.getExteriorRing().getCoordinateSequence()));
+    assertEquals("POLYGON ((180 -20, 160 0, 180 20, -160 0, 180 -20))", result.toString());
+    result = geometryFactory.createPolygon(PolarTranslationFilter.postSplit(true).translate(result.getExteriorRing().getCoordinateSequence()));
+    assertEquals("POLYGON ((180 70, 90 70, 0 70, -90 70, 180 70))", result.toString());
+  }
+
+  @Test
+  public void testFilterInPlace() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    Geometry geometry = wktReader.read("MULTIPOLYGON (((-180 -70, -180 -90, 0 -70, -90 -70, -180 -70)), ((0 -70, 180 -90, 180 -70, 90 -70, 0 -70)))");
+    Geometry expected = PolarProcessor.preSplitTranslatePolygon((Polygon) geometry.getGeometryN(0), geometryFactory, false);
+    geometry.apply(PolarTranslationFilter.preSplit(false));
+    assertEquals(expected.toString(), geometry.getGeometryN(0).toString());
+    expected = PolarProcessor.postSplitTranslateGeometry(geometry, geometryFactory, false);
+    geometry.apply(PolarTranslationFilter.postSplit(false));
+    assertEquals(expected.toString(), geometry.toString());
+  }
+
+}
@@ -0,0 +1,134 @@
+package edu.colorado.cires.cmg.polarprocessor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.colorado.cires.cmg.polarprocessor.PoleCrossingDetector.Detection;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.io.WKTReader;
+
+public class PoleCrossingDetectorTest {
+
+  private static Coordinate shift(Coordinate c) {
+    c = c.copy();
+    c.setX(PolarMath.shift(c.getX()));
+    return c;
+  }
+
+  /*
+   * Reference implementation using JTS overlay operations
+   */
+  private static Detection reference(Polygon polygon, GeometryFactory geometryFactory, boolean arctic) {
+    polygon = PolarProcessor.preSplitTranslatePolygon(polygon, geometryFactory, arctic);
+    Set<Coordinate> crossings = new HashSet<>();
+    LineString mask = geometryFactory.createLineString(new Coordinate[]{new Coordinate(0D, 0D), new Coordinate(0D, 360D)});
+    Point origin = geometryFactory.createPoint(new Coordinate(0D, 0D));
+    LineString ext = polygon.getExteriorRing();
+    for (int i = 0; i < ext.getNumPoints(); i++) {
+      Coordinate c = shift(ext.getCoordinateN(i));
+      if (c.getX() == 0D && c.getY() == 0D) {
+        return Detection.ON_POLE;
+      }
+      if (i == 0) {
+        continue;
+      }
+      LineString segment = geometryFactory.createLineString(new Coordinate[]{shift(ext.getCoordinateN(i - 1)), c});
+      if (segment.intersects(origin)) {
+        return Detection.ON_POLE;
+      }
+      Geometry crossing = segment.intersection(mask);
+      if (crossing instanceof Point) {
+        crossings.add(crossing.getCoordinate());
+      }
+    }
+    return crossings.size() % 2 == 1 ? Detection.POLAR : Detection.NOT_POLAR;
+  }
+
+  private static double randomLon(Random random) {
+    switch (random.nextInt(6)) {
+      case 0:
+        return 0D;
+      case 1:
+        return 180D;
+      case 2:
+        return -180D;
+      case 3:
+        return random.nextInt(9) * 45D - 180D;
+      default:
+        return random.nextDouble() * 360D - 180D;
+    }
+  }
+
+  @Test
+  public void testMatchesReference() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    Random random = new Random(7);
+    for (int i = 0; i < 5000; i++) {
+      int size = 3 + random.nextInt(6);
+      boolean arctic = random.nextBoolean();
+      Coordinate[] coordinates = new Coordinate[size + 1];
+      for (int n = 0; n < size; n++) {
+        double lat = random.nextInt(10) == 0 ? 90D : 50D + random.nextInt(40);
+        coordinates[n] = new Coordinate(randomLon(random), arctic ? lat : -lat);
+      }
+      coordinates[size] = coordinates[0].copy();
+      Polygon polygon = geometryFactory.createPolygon(coordinates);
+      assertEquals(
+          reference(polygon, geometryFactory, arctic),
+          PoleCrossingDetector.detect(polygon.getExteriorRing().getCoordinateSequence(), arctic),
+          polygon.toString());
+    }
+  }
+
+  @Test
+  public void testChunksMatchSequential() throws Exception {
+    Random random = new Random(11);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int i = 0; i < 5000; i++) {
+        int size = 3 + random.nextInt(40);
+        boolean arctic = random.nextBoolean();
+        double[] translated = new double[(size + 1) * 2];
+        for (int n = 0; n < size; n++) {
+          double lon = randomLon(random);
+          double lat = random.nextInt(40) == 0 ? 90D : 50D + random.nextInt(40);
+          translated[n * 2] = PolarMath.preSplitX(lon, arctic ? lat : -lat, arctic);
+          translated[n * 2 + 1] = PolarMath.preSplitY(lon, arctic ? lat : -lat, arctic);
+        }
+        translated[size * 2] = translated[0];
+        translated[size * 2 + 1] = translated[1];
+        int chunk = 1 + random.nextInt(8);
+        assertEquals(
+            PoleCrossingDetector.detect(translated, translated.length),
+            PoleCrossingDetector.detect(translated, translated.length, pool, chunk),
+            "chunk " + chunk);
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testDetect() throws Exception {
+    GeometryFactory geometryFactory = new GeometryFactory(new PrecisionModel(), 4326);
+    WKTReader wktReader = new WKTReader(geometryFactory);
+    assertEquals(Detection.POLAR, PoleCrossingDetector.detect(
+        ((Polygon) wktReader.read("POLYGON ((180 70, 100 60, 45 50, -30 50, -90 70, 180 70))")).getExteriorRing().getCoordinateSequence(), true));
+    assertEquals(Detection.NOT_POLAR, PoleCrossingDetector.detect(
+        ((Polygon) wktReader.read("POLYGON ((0 60, -80 60, -80 70, 0 70, 90 70, 180 70, -110 70, -110 60, 180 60, 90 60, 0 60))"))
+            .getExteriorRing().getCoordinateSequence(), true));
+    assertEquals(Detection.ON_POLE, PoleCrossingDetector.detect(
+        ((Polygon) wktReader.read("POLYGON ((0 60, 180 60, 90 60, 0 60))")).getExteriorRing().getCoordinateSequence(), true));
+  }
+
+}